@@ -4,16 +4,46 @@
 package asta;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import asta.controller.AppController;
+import asta.model.CancellationToken;
 import asta.model.GenericTextProcessingStrategy;
 import asta.model.IFileHandler;
+import asta.model.ITextMetaData;
+import asta.model.MappedTextMetaData;
 import asta.model.PlainTextFileHandler;
+import asta.model.ReadAheadFileHandler;
+import asta.model.Settings;
+import asta.model.TailTextAnalyzer;
 import asta.model.TextMetaData;
 import asta.model.TextProcessFinishEvent;
 import asta.model.TextProcessStatusEvent;
 import asta.model.TextProcessStatusListener;
+import asta.model.TextStore;
+import asta.model.WordPosition;
 
 /**
  * Entry point of the console application 
@@ -24,16 +54,114 @@ import asta.model.TextProcessStatusListener;
  */
 public class Console {
 
+	/**
+	 * the command-line option to verify the merging of text meta data
+	 */
+	private static final String VERIFY_OPTION = "-verify";
+
+	/**
+	 * the number of shards a file is split into by default when verifying the merging
+	 */
+	private static final int DEFAULT_NMBR_OF_SHARDS = 4;
+
+	/**
+	 * the command-line option to follow a file that is being appended to
+	 */
+	private static final String TAIL_OPTION = "-tail";
+
+	/**
+	 * the number of seconds between the refreshes of a followed file by default
+	 */
+	private static final int DEFAULT_TAIL_INTERVAL = 2;
+
+	/**
+	 * the number of top words shown after each refresh of a followed file
+	 * and for the corpus of the batch mode
+	 */
+	private static final int TOP_WORDS = 10;
+
+	/**
+	 * the command-line option to analyze many files at once
+	 */
+	private static final String BATCH_OPTION = "-batch";
+
+	/**
+	 * the command-line option to specify the number of threads of the batch mode
+	 */
+	private static final String THREADS_OPTION = "-threads";
+
+	/**
+	 * the command-line option to specify the directory the results of the batch mode are saved to
+	 */
+	private static final String OUT_OPTION = "-out";
+
+	/**
+	 * the extension of the result files
+	 */
+	private static final String RESULT_EXTENSION = ".asta";
+
+	/**
+	 * the name of the result file of the whole corpus
+	 */
+	private static final String CORPUS_RESULT = "corpus" + RESULT_EXTENSION;
+
+	/**
+	 * the number of files per thread that are analyzed ahead of the file merged
+	 * into the corpus next
+	 */
+	private static final int FILES_AHEAD_PER_THREAD = 4;
+
+	/**
+	 * the command-line option to save checkpoints of the analyzing process
+	 */
+	private static final String CHECKPOINT_OPTION = "-checkpoint";
+
 	/**
 	 * the starting point of the console application
 	 * 
 	 * @param args
 	 * 		command-line arguments: args[0] - name of the file to analyze
+	 * 		or: args[0] - "-checkpoint", args[1] - name of the checkpoint file,
+	 * 		args[2] - name of the file to analyze
+	 * 		or: args[0] - "-verify", args[1] - name of the file to analyze,
+	 * 		args[2] - number of shards (optional)
+	 * 		or: args[0] - "-tail", args[1] - name of the file to follow,
+	 * 		args[2] - seconds between the refreshes (optional)
+	 * 		or: args[0] - "-batch", followed by the options "-threads &lt;n&gt;" and
+	 * 		"-out &lt;directory&gt;" (optional) and the directories, files or globs to analyze
 	 * 
 	 * @author andreas.p&ouml;rtner
 	 */
 	public static void main(String[] args) {
 		
+		if ((args.length >= 2) && VERIFY_OPTION.equals(args[0])) {
+			
+			verifyMerge(args);
+			return;
+		}
+		
+		if ((args.length >= 2) && TAIL_OPTION.equals(args[0])) {
+			
+			followFile(args);
+			return;
+		}
+		
+		if ((args.length >= 2) && BATCH_OPTION.equals(args[0])) {
+			
+			analyzeBatch(args);
+			return;
+		}
+		
+		// the state of the process is saved to the checkpoint file and
+		// an earlier process that has not been finished is resumed from there
+		File checkpointFile = null;
+		
+		if ((args.length == 3) && CHECKPOINT_OPTION.equals(args[0])) {
+			
+			checkpointFile = new File(args[1]);
+			args = new String[] { args[2] };
+		}
+		
 		if (args.length != 1) {
 			ShowUsage();
 			return;
@@ -52,26 +180,647 @@ public class Console {
 		}
 		
 		// create default text handler & processing strategy
+		Settings settings = AppController.getInstance().getSettings();
 		IFileHandler fiHandler = new PlainTextFileHandler();
 		GenericTextProcessingStrategy procStrat = new GenericTextProcessingStrategy();
 		ConsoleOutListener listener = new ConsoleOutListener();
+		final CancellationToken token = new CancellationToken();
+		final Thread mainThread = Thread.currentThread();
+		
+		// when the application is terminated the process is cancelled, so the words
+		// found so far are printed (and saved to the checkpoint file)
+		Thread shutdownHook = new Thread() {
+			
+			@Override
+			public void run() {
+				
+				token.cancel();
+				
+				try {
+					
+					mainThread.join();
+					
+				} catch (InterruptedException e) {
+					
+					// terminate anyway
+				}
+			}
+		};
 		
 		try {
 			
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+			
 			System.setOut(new PrintStream(System.out, true, "UTF-8"));
 			
+			// only the statistics are printed, so the text is just streamed through
+			fiHandler.setRetainPlainText(false);
 			fiHandler.setFile(fi.getAbsolutePath());
 			
+			// read the next chunks of the file in the background
+			if (settings.getReadAheadChunks() > 0)
+				fiHandler = new ReadAheadFileHandler(fiHandler, settings.getReadAheadChunks());
+			
 			procStrat.addTextProcessListener(listener);
-			procStrat.parse(fiHandler);
+			procStrat.parse(fiHandler, token, checkpointFile);
 			
 		} catch (IOException e) {
 			
 			e.printStackTrace();
+			
+		} catch (UncheckedIOException e) {
+			
+			e.getCause().printStackTrace();
 		}
 		finally {
 			
 			procStrat.removeTextProcessListener(listener);
+			
+			try {
+				
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+				
+			} catch (IllegalStateException e) {
+				
+				// the application is terminated right now
+			}
+		}
+	}
+
+	/**
+	 * verifies that the text meta data of a file equals the merged text meta data
+	 * of the shards of the file, the file is split at white-spaces into shards that are
+	 * analyzed separately, the results are merged once from left to right and once
+	 * pairwise (to prove the order of merging does not matter)
+	 * 
+	 * @param args the command-line arguments (see {@link #main})
+	 * @author andreas.gerlach
+	 */
+	private static void verifyMerge(String[] args) {
+		
+		File fi = new File(args[1]);
+		int nmbrOfShards = (args.length > 2) ? parsePositiveNumber(args[2]) : DEFAULT_NMBR_OF_SHARDS;
+		
+		if ((args.length > 3) || (nmbrOfShards <= 0)) {
+			ShowUsage();
+			return;
+		}
+		ArrayList<File> shardFiles = new ArrayList<File>();
+		
+		try {
+			
+			// analyze the whole file and keep its text to split it
+			IFileHandler fiHandler = new PlainTextFileHandler();
+			fiHandler.setRetainPlainText(true);
+			fiHandler.setFile(fi.getAbsolutePath());
+			
+			TextMetaData whole = new GenericTextProcessingStrategy().parse(fiHandler);
+			TextStore text = fiHandler.getPlainText();
+			
+			// split the text behind a white-space, so no word is split
+			ArrayList<Long> shardStarts = new ArrayList<Long>();
+			long start = 0;
+			
+			for (int i = 1; i <= nmbrOfShards; ++i) {
+				
+				long end = text.getLength() * i / nmbrOfShards;
+				
+				while ((end < text.getLength()) && !Character.isWhitespace(text.charAt(end)))
+					++end;
+				
+				end = Math.min(Math.max(end + 1, start), text.getLength());
+				
+				if ((end == start) && (i < nmbrOfShards))
+					continue;
+				
+				File shardFile = File.createTempFile("asta-shard", ".txt");
+				shardFiles.add(shardFile);
+				shardStarts.add(start);
+				
+				Writer writer = new OutputStreamWriter(new FileOutputStream(shardFile), "UTF-8");
+				
+				try {
+					
+					writer.write(text.getText(start, end));
+				}
+				finally {
+					
+					writer.close();
+				}
+				
+				start = end;
+			}
+			
+			// merge the shards from left to right
+			TextMetaData merged = analyzeShard(shardFiles.get(0));
+			
+			for (int i = 1; i < shardFiles.size(); ++i)
+				merged.merge(analyzeShard(shardFiles.get(i)), shardStarts.get(i));
+			
+			// and pairwise until a single result is left
+			ArrayList<TextMetaData> parts = new ArrayList<TextMetaData>();
+			ArrayList<Long> partStarts = new ArrayList<Long>(shardStarts);
+			
+			for (File shardFile : shardFiles)
+				parts.add(analyzeShard(shardFile));
+			
+			while (parts.size() > 1) {
+				
+				ArrayList<TextMetaData> nextParts = new ArrayList<TextMetaData>();
+				ArrayList<Long> nextStarts = new ArrayList<Long>();
+				
+				for (int i = 0; i < parts.size(); i += 2) {
+					
+					if (i + 1 < parts.size())
+						parts.get(i).merge(parts.get(i + 1), partStarts.get(i + 1) - partStarts.get(i));
+					
+					nextParts.add(parts.get(i));
+					nextStarts.add(partStarts.get(i));
+				}
+				
+				parts = nextParts;
+				partStarts = nextStarts;
+			}
+			
+			String leftToRight = compare(whole, merged);
+			String pairwise = compare(whole, parts.get(0));
+			
+			System.out.println(String.format("%d shards, merged from left to right: %s",
+					shardFiles.size(), (leftToRight == null) ? "OK" : leftToRight));
+			System.out.println(String.format("%d shards, merged pairwise: %s",
+					shardFiles.size(), (pairwise == null) ? "OK" : pairwise));
+			
+		} catch (IOException e) {
+			
+			e.printStackTrace();
+		}
+		finally {
+			
+			for (File shardFile : shardFiles)
+				shardFile.delete();
+		}
+	}
+
+	/**
+	 * follows a file that is being appended to until the application is terminated,
+	 * the bytes appended are analyzed in intervals and the counters and the top words
+	 * of the whole text are printed after each refresh
+	 * 
+	 * @param args the command-line arguments (see {@link #main})
+	 * @author andreas.gerlach
+	 */
+	private static void followFile(String[] args) {
+		
+		File fi = new File(args[1]);
+		int interval = (args.length > 2) ? parsePositiveNumber(args[2]) : DEFAULT_TAIL_INTERVAL;
+		
+		if ((args.length > 3) || (interval <= 0)) {
+			ShowUsage();
+			return;
+		}
+		
+		try {
+			
+			System.setOut(new PrintStream(System.out, true, "UTF-8"));
+			
+			TailTextAnalyzer analyzer = new TailTextAnalyzer(fi.getAbsoluteFile(),
+					new GenericTextProcessingStrategy());
+			
+			while (true) {
+				
+				if (analyzer.refresh()) {
+					
+					TextMetaData data = analyzer.getMetaData();
+					StringBuilder topWords = new StringBuilder();
+					
+					for (String w : data.getTopWordsByFrequency(TOP_WORDS)) {
+						
+						if (w != null)
+							topWords.append(String.format(" %s (%d)", w, data.getFrequencyOfWord(w)));
+					}
+					
+					System.out.println(String.format("[%d bytes] Sum(Words): %d, Sum(Chars): %d, Top:%s",
+							analyzer.getCurrentPosition(), data.getNumberOfWords(),
+							data.getNumberOfCharacters(), topWords));
+				}
+				
+				Thread.sleep(interval * 1000L);
+			}
+			
+		} catch (IOException e) {
+			
+			e.printStackTrace();
+			
+		} catch (InterruptedException e) {
+			
+			// terminated, nothing left to do
+		}
+	}
+
+	/**
+	 * analyzes all files of the directories, files or globs given on a pool of threads
+	 * within a single JVM and merges their meta data into the meta data of the whole
+	 * corpus, the files are merged in the order they have been found, so the positions
+	 * of the words in the corpus are the positions in the concatenated files
+	 * the result of each file and the one of the corpus are saved to the result directory
+	 * if one is given (the directory structure below the directories given is kept)
+	 * 
+	 * @param args the command-line arguments (see {@link #main})
+	 * @author andreas.gerlach
+	 */
+	private static void analyzeBatch(String[] args) {
+		
+		int nmbrOfThreads = Runtime.getRuntime().availableProcessors();
+		File resultDirectory = null;
+		ArrayList<Path[]> files = new ArrayList<Path[]>();
+		
+		try {
+			
+			System.setOut(new PrintStream(System.out, true, "UTF-8"));
+			
+			for (int i = 1; i < args.length; ++i) {
+				
+				if (THREADS_OPTION.equals(args[i]) && (i + 1 < args.length))
+					nmbrOfThreads = parsePositiveNumber(args[++i]);
+				else if (OUT_OPTION.equals(args[i]) && (i + 1 < args.length))
+					resultDirectory = new File(args[++i]);
+				else
+					collectFiles(args[i], files);
+			}
+			
+		} catch (IOException e) {
+			
+			e.printStackTrace();
+			return;
+		}
+		
+		if (nmbrOfThreads <= 0) {
+			ShowUsage();
+			return;
+		}
+		
+		if ((resultDirectory != null) && !resultDirectory.isDirectory() && !resultDirectory.mkdirs()) {
+			
+			System.out.println(String.format("Directory %s cannot be created!",
+					resultDirectory.getAbsolutePath()));
+			
+			return;
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(nmbrOfThreads);
+		ArrayDeque<Future<BatchResult>> results = new ArrayDeque<Future<BatchResult>>();
+		TextMetaData corpus = new TextMetaData();
+		long corpusLength = 0;
+		int nmbrOfFailures = 0;
+		long start = System.currentTimeMillis();
+		
+		try {
+			
+			// the files are analyzed a few ahead of the one merged next only,
+			// so the meta data of no more than these files is held at once
+			int next = 0;
+			
+			for (int i = 0; i < files.size(); ++i) {
+				
+				for (; (next < files.size()) && (next - i < nmbrOfThreads * FILES_AHEAD_PER_THREAD); ++next)
+					results.add(executor.submit(createBatchTask(files.get(next), resultDirectory)));
+				
+				Path file = files.get(i)[1];
+				
+				try {
+					
+					BatchResult result = results.remove().get();
+					TextMetaData data = result.getMetaData();
+					
+					System.out.println(String.format("%s: Sum(Words): %d, Sum(Chars): %d",
+							file, data.getNumberOfWords(), data.getNumberOfCharacters()));
+					
+					// the positions of the next file start behind the text of this one
+					corpus.merge(data, corpusLength);
+					corpusLength += result.getTextLength();
+					
+				} catch (ExecutionException e) {
+					
+					System.out.println(String.format("%s: %s", file, e.getCause()));
+					nmbrOfFailures++;
+				}
+			}
+			
+			StringBuilder topWords = new StringBuilder();
+			
+			for (String w : corpus.getTopWordsByFrequency(TOP_WORDS)) {
+				
+				if (w != null)
+					topWords.append(String.format(" %s (%d)", w, corpus.getFrequencyOfWord(w)));
+			}
+			
+			System.out.println(String.format("Corpus of %d files (%d failed, %d ms): Sum(Words): %d, Sum(Chars): %d, Top:%s",
+					files.size(), nmbrOfFailures, System.currentTimeMillis() - start,
+					corpus.getNumberOfWords(), corpus.getNumberOfCharacters(), topWords));
+			
+			if (resultDirectory != null)
+				MappedTextMetaData.write(corpus, new File(resultDirectory, CORPUS_RESULT));
+			
+		} catch (IOException e) {
+			
+			e.printStackTrace();
+			
+		} catch (InterruptedException e) {
+			
+			// terminated, nothing left to do
+		}
+		finally {
+			
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * adds the files of a directory (including its sub-directories), a single file
+	 * or the files matching a glob (e.g. texts/*&#47;*.txt) to the list of files
+	 * 
+	 * @param pattern the directory, file or glob
+	 * @param files the list of files, each given by the directory it has been found in
+	 * and the file itself
+	 * @throws IOException if a directory cannot be read
+	 * @author andreas.gerlach
+	 */
+	private static void collectFiles(String pattern, final List<Path[]> files) throws IOException {
+		
+		int wildcard = -1;
+		
+		for (char c : "*?[{".toCharArray()) {
+			
+			int i = pattern.indexOf(c);
+			
+			if ((i >= 0) && ((wildcard < 0) || (i < wildcard)))
+				wildcard = i;
+		}
+		
+		final Path baseDirectory;
+		final PathMatcher matcher;
+		
+		if (wildcard < 0) {
+			
+			Path path = Paths.get(pattern).toAbsolutePath();
+			
+			if (Files.isRegularFile(path)) {
+				
+				files.add(new Path[] { path.getParent(), path });
+				return;
+			}
+			
+			if (!Files.isDirectory(path)) {
+				
+				System.out.println(String.format("File %s not found or cannot be opened for reading!", path));
+				return;
+			}
+			
+			baseDirectory = path;
+			matcher = null;
+			
+		} else {
+			
+			// the glob is matched against the path relative to the
+			// directory in front of the first wildcard
+			int separator = Math.max(pattern.lastIndexOf('/', wildcard), pattern.lastIndexOf(File.separatorChar, wildcard));
+			
+			baseDirectory = Paths.get((separator < 0) ? "." : pattern.substring(0, separator + 1)).toAbsolutePath();
+			matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(separator + 1));
+		}
+		
+		Files.walkFileTree(baseDirectory, new SimpleFileVisitor<Path>() {
+			
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				
+				if (attrs.isRegularFile() && ((matcher == null) || matcher.matches(baseDirectory.relativize(file))))
+					files.add(new Path[] { baseDirectory, file });
+				
+				return FileVisitResult.CONTINUE;
+			}
+			
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e) {
+				
+				System.out.println(String.format("%s: %s", file, e));
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * creates the task analyzing a file of the batch mode
+	 * 
+	 * @param file the directory the file has been found in and the file itself
+	 * @param resultDirectory the directory the result is saved to (NULL if it is not saved)
+	 * @return the task returning the text meta data of the file and the length of its text
+	 * @author andreas.gerlach
+	 */
+	private static Callable<BatchResult> createBatchTask(final Path[] file, final File resultDirectory) {
+		
+		return new Callable<BatchResult>() {
+			
+			@Override
+			public BatchResult call() throws IOException {
+				
+				// the length of the text is the number of characters decoded (after the
+				// line endings have been converted), so it is counted as the chunks are read
+				final long[] textLength = new long[1];
+				
+				IFileHandler fiHandler = new PlainTextFileHandler() {
+					
+					@Override
+					public String next() {
+						
+						String filePart = super.next();
+						textLength[0] += filePart.length();
+						
+						return filePart;
+					}
+				};
+				
+				fiHandler.setRetainPlainText(false);
+				fiHandler.setFile(file[1].toString());
+				
+				TextMetaData data = null;
+				
+				try {
+					
+					data = new GenericTextProcessingStrategy().parse(fiHandler);
+					
+				} catch (UncheckedIOException e) {
+					
+					// reported as a failure of this file only
+					throw e.getCause();
+				}
+				
+				if (resultDirectory != null) {
+					
+					File resultFile = new File(resultDirectory, file[0].relativize(file[1]) + RESULT_EXTENSION);
+					resultFile.getParentFile().mkdirs();
+					
+					MappedTextMetaData.write(data, resultFile);
+				}
+				
+				return new BatchResult(data, textLength[0]);
+			}
+		};
+	}
+
+	/**
+	 * analyzes a shard of a file
+	 * 
+	 * @param shardFile the file holding the shard
+	 * @return the text meta data of the shard
+	 * @throws IOException if the file cannot be read
+	 * @author andreas.gerlach
+	 */
+	private static TextMetaData analyzeShard(File shardFile) throws IOException {
+		
+		IFileHandler fiHandler = new PlainTextFileHandler();
+		fiHandler.setRetainPlainText(false);
+		fiHandler.setFile(shardFile.getAbsolutePath());
+		
+		try {
+			
+			return new GenericTextProcessingStrategy().parse(fiHandler);
+			
+		} catch (UncheckedIOException e) {
+			
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * compares the counters, words, frequencies and positions of two text meta data
+	 * 
+	 * @param expected the expected text meta data
+	 * @param actual the actual text meta data
+	 * @return the first difference found or NULL if both are equal
+	 * @author andreas.gerlach
+	 */
+	private static String compare(TextMetaData expected, TextMetaData actual) {
+		
+		long[][] counters = new long[][] {
+				{ expected.getNumberOfWords(), actual.getNumberOfWords() },
+				{ expected.getNumberOfCharacters(), actual.getNumberOfCharacters() },
+				{ expected.getNumberOfAlphaCharacters(), actual.getNumberOfAlphaCharacters() },
+				{ expected.getNumberOfVowels(), actual.getNumberOfVowels() },
+				{ expected.getNumberOfConsonants(), actual.getNumberOfConsonants() },
+				{ expected.getNumberOfPunctuation(), actual.getNumberOfPunctuation() } };
+		String[] counterNames = new String[] { "words", "chars", "alpha-chars", "vowels",
+				"consonants", "punctuation" };
+		
+		for (int i = 0; i < counters.length; ++i) {
+			
+			if (counters[i][0] != counters[i][1])
+				return String.format("number of %s differs (%d != %d)", counterNames[i],
+						counters[i][0], counters[i][1]);
+		}
+		
+		String[] expectedWords = expected.getWordsByFrequency();
+		String[] actualWords = actual.getWordsByFrequency();
+		
+		if (!Arrays.equals(expectedWords, actualWords))
+			return "list of words by frequency differs";
+		
+		for (String w : expectedWords) {
+			
+			if (expected.getFrequencyOfWord(w) != actual.getFrequencyOfWord(w))
+				return String.format("frequency of \"%s\" differs", w);
+			
+			WordPosition[] expectedPositions = expected.getWordPositions(w);
+			WordPosition[] actualPositions = actual.getWordPositions(w);
+			
+			if (expectedPositions.length != actualPositions.length)
+				return String.format("number of positions of \"%s\" differs (%d != %d)", w,
+						expectedPositions.length, actualPositions.length);
+			
+			for (int i = 0; i < expectedPositions.length; ++i) {
+				
+				if (expectedPositions[i].getStartPosition() != actualPositions[i].getStartPosition())
+					return String.format("position %d of \"%s\" differs (%d != %d)", i, w,
+							expectedPositions[i].getStartPosition(),
+							actualPositions[i].getStartPosition());
+			}
+		}
+		
+		return null;
+	}
+
+	/**
+	 * the result of a file analyzed in the batch mode
+	 * 
+	 * @author andreas.gerlach
+	 */
+	private static class BatchResult {
+		
+		/**
+		 * the text meta data of the file
+		 */
+		private TextMetaData _metaData = null;
+		
+		/**
+		 * the number of characters of the text of the file
+		 */
+		private long _textLength = 0;
+		
+		/**
+		 * constructs a new result of a file
+		 * 
+		 * @param metaData the text meta data of the file
+		 * @param textLength the number of characters of the text of the file
+		 * @author andreas.gerlach
+		 */
+		BatchResult(TextMetaData metaData, long textLength) {
+			
+			_metaData = metaData;
+			_textLength = textLength;
+		}
+		
+		/**
+		 * getter to retrieve the text meta data of the file
+		 * 
+		 * @return the text meta data of the file
+		 * @author andreas.gerlach
+		 */
+		TextMetaData getMetaData() {
+			
+			return _metaData;
+		}
+		
+		/**
+		 * getter to retrieve the number of characters of the text of the file,
+		 * including the characters that are neither part of a word nor a punctuation
+		 * 
+		 * @return the number of characters of the text of the file
+		 * @author andreas.gerlach
+		 */
+		long getTextLength() {
+			
+			return _textLength;
+		}
+	}
+
+	/**
+	 * parses a number given on the command-line that has to be positive
+	 * 
+	 * @param value the argument
+	 * @return the number or -1 if the argument is no positive number
+	 * @author andreas.gerlach
+	 */
+	private static int parsePositiveNumber(String value) {
+		
+		try {
+			
+			int number = Integer.parseInt(value);
+			
+			return (number > 0) ? number : -1;
+			
+		} catch (NumberFormatException e) {
+			
+			return -1;
 		}
 	}
 
@@ -87,6 +836,10 @@ public class Console {
 		System.out.println("=========================================");
 		System.out.println("USAGE:");
 		System.out.println("\tjava asta.TestMain <FileName>");
+		System.out.println("\tjava asta.TestMain -checkpoint <CheckpointFile> <FileName>");
+		System.out.println("\tjava asta.TestMain -verify <FileName> [<NumberOfShards>]");
+		System.out.println("\tjava asta.TestMain -tail <FileName> [<Seconds>]");
+		System.out.println("\tjava asta.TestMain -batch [-threads <n>] [-out <ResultDirectory>] <Directory|File|Glob>...");
 	}
 }
 
@@ -139,7 +892,7 @@ class ConsoleOutListener implements TextProcessStatusListener {
 	public void finish(TextProcessFinishEvent evt) {
 		
 		int i = 0;
-		TextMetaData data = evt.getMetaData();
+		ITextMetaData data = evt.getMetaData();
 		
 		for(String s: data.getWordsByFrequency()) {
 			
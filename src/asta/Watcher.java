@@ -0,0 +1,391 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import asta.model.GenericTextProcessingStrategy;
+import asta.model.MappedTextMetaData;
+import asta.model.PlainTextFileHandler;
+import asta.model.TextMetaData;
+
+/**
+ * Entry point of the headless application that watches a drop directory
+ * and analyzes each file that is created or modified in it, the results are saved
+ * in the format of {@link MappedTextMetaData} to a results directory
+ * (named like the file with the extension ".asta")
+ * a file is analyzed when it has not been modified for a while, so files that are
+ * still being written are not analyzed half-way, the files are analyzed on a bounded
+ * pool of threads within a single JVM
+ *
+ * @author andreas.gerlach
+ */
+public class Watcher {
+
+	/**
+	 * the extension of the result files
+	 */
+	private static final String RESULT_EXTENSION = ".asta";
+
+	/**
+	 * the time a file has to be left unmodified before it is analyzed (in milliseconds)
+	 */
+	private static final long DEBOUNCE_MILLIS = 1000;
+
+	/**
+	 * the number of files per thread that may wait for their analysis
+	 * before the watcher waits for the pool
+	 */
+	private static final int QUEUED_FILES_PER_THREAD = 4;
+
+	/**
+	 * the directory that is watched
+	 */
+	private Path _dropDirectory = null;
+
+	/**
+	 * the directory the results are saved in
+	 */
+	private Path _resultDirectory = null;
+
+	/**
+	 * the pool of threads analyzing the files
+	 */
+	private ThreadPoolExecutor _executor = null;
+
+	/**
+	 * the files that have been created or modified by the time of their last change
+	 */
+	private Map<Path, Long> _pendingFiles = new HashMap<Path, Long>();
+
+	/**
+	 * the files that are being analyzed right now
+	 */
+	private Set<Path> _runningFiles = Collections.newSetFromMap(new ConcurrentHashMap<Path, Boolean>());
+
+	/**
+	 * the starting point of the watcher application
+	 *
+	 * @param args
+	 * 		command-line arguments: args[0] - the directory to watch,
+	 * 		args[1] - the directory to save the results to,
+	 * 		args[2] - the number of threads (optional, default: number of processors)
+	 *
+	 * @author andreas.gerlach
+	 */
+	public static void main(String[] args) {
+
+		if ((args.length < 2) || (args.length > 3)) {
+			ShowUsage();
+			return;
+		}
+
+		File dropDirectory = new File(args[0]);
+		File resultDirectory = new File(args[1]);
+		int nmbrOfThreads = (args.length > 2) ? parsePositiveNumber(args[2])
+				: Runtime.getRuntime().availableProcessors();
+
+		if (nmbrOfThreads <= 0) {
+			ShowUsage();
+			return;
+		}
+
+		if (!dropDirectory.isDirectory()) {
+
+			System.out.println(String.format("Directory %s not found!",
+					dropDirectory.getAbsolutePath()));
+
+			return;
+		}
+
+		if (!resultDirectory.isDirectory() && !resultDirectory.mkdirs()) {
+
+			System.out.println(String.format("Directory %s cannot be created!",
+					resultDirectory.getAbsolutePath()));
+
+			return;
+		}
+
+		try {
+
+			System.setOut(new PrintStream(System.out, true, "UTF-8"));
+
+			new Watcher(dropDirectory, resultDirectory, nmbrOfThreads).watch();
+
+		} catch (IOException e) {
+
+			e.printStackTrace();
+
+		} catch (InterruptedException e) {
+
+			// terminated, nothing left to do
+		}
+	}
+
+	/**
+	 * constructs a new watcher
+	 *
+	 * @param dropDirectory the directory that is watched
+	 * @param resultDirectory the directory the results are saved in
+	 * @param nmbrOfThreads the number of threads analyzing the files
+	 * @author andreas.gerlach
+	 */
+	public Watcher(File dropDirectory, File resultDirectory, int nmbrOfThreads) {
+
+		_dropDirectory = dropDirectory.getAbsoluteFile().toPath();
+		_resultDirectory = resultDirectory.getAbsoluteFile().toPath();
+
+		// the queue is bounded, if it is full the watcher analyzes the file itself
+		// and so stops collecting new files until the pool has caught up
+		_executor = new ThreadPoolExecutor(nmbrOfThreads, nmbrOfThreads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(nmbrOfThreads * QUEUED_FILES_PER_THREAD),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * watches the drop directory until the thread is interrupted
+	 * the files that are in the directory already and have no up-to-date result
+	 * are analyzed first
+	 *
+	 * @throws IOException if the directory cannot be watched
+	 * @throws InterruptedException if the thread has been interrupted
+	 * @author andreas.gerlach
+	 */
+	public void watch() throws IOException, InterruptedException {
+
+		WatchService watchService = FileSystems.getDefault().newWatchService();
+
+		try {
+
+			_dropDirectory.register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+
+			System.out.println(String.format("Watching %s, results are saved to %s",
+					_dropDirectory, _resultDirectory));
+
+			scanDirectory();
+
+			while (true) {
+
+				WatchKey key = watchService.poll(DEBOUNCE_MILLIS / 2, TimeUnit.MILLISECONDS);
+
+				if (key != null) {
+
+					for (WatchEvent<?> event : key.pollEvents()) {
+
+						// events have been lost, so look at all files again
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+							scanDirectory();
+						else
+							_pendingFiles.put(_dropDirectory.resolve((Path) event.context()),
+									System.currentTimeMillis());
+					}
+
+					if (!key.reset())
+						throw new IOException("Directory " + _dropDirectory + " is not accessible any longer!");
+				}
+
+				submitSettledFiles();
+			}
+
+		} finally {
+
+			watchService.close();
+			_executor.shutdown();
+		}
+	}
+
+	/**
+	 * adds the files of the drop directory that have no up-to-date result
+	 * to the pending files
+	 *
+	 * @throws IOException if the directory cannot be read
+	 * @author andreas.gerlach
+	 */
+	private void scanDirectory() throws IOException {
+
+		DirectoryStream<Path> files = Files.newDirectoryStream(_dropDirectory);
+
+		try {
+
+			for (Path file : files) {
+
+				File resultFile = getResultFile(file).toFile();
+
+				if (!resultFile.exists() || (resultFile.lastModified() < file.toFile().lastModified()))
+					_pendingFiles.put(file, System.currentTimeMillis());
+			}
+
+		} finally {
+
+			files.close();
+		}
+	}
+
+	/**
+	 * hands the pending files that have not been modified for the debounce time
+	 * over to the pool, a file that is being analyzed already is kept until
+	 * its analysis is finished and then analyzed again
+	 *
+	 * @author andreas.gerlach
+	 */
+	private void submitSettledFiles() {
+
+		long now = System.currentTimeMillis();
+		Iterator<Map.Entry<Path, Long>> it = _pendingFiles.entrySet().iterator();
+
+		while (it.hasNext()) {
+
+			Map.Entry<Path, Long> entry = it.next();
+			final Path file = entry.getKey();
+
+			if ((now - entry.getValue() < DEBOUNCE_MILLIS) || _runningFiles.contains(file))
+				continue;
+
+			it.remove();
+
+			if (!Files.isRegularFile(file))
+				continue;
+
+			_runningFiles.add(file);
+
+			_executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+
+					try {
+
+						analyze(file);
+
+					} finally {
+
+						_runningFiles.remove(file);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * analyzes a file and saves its result to the result directory
+	 * the result is written to a temporary file first, so a result file
+	 * is either complete or not there at all
+	 *
+	 * @param file the file to analyze
+	 * @author andreas.gerlach
+	 */
+	private void analyze(Path file) {
+
+		Path resultFile = getResultFile(file);
+		File tempFile = null;
+
+		try {
+
+			PlainTextFileHandler fiHandler = new PlainTextFileHandler();
+			fiHandler.setRetainPlainText(false);
+			fiHandler.setFile(file.toString());
+
+			long start = System.currentTimeMillis();
+			TextMetaData data = new GenericTextProcessingStrategy().parse(fiHandler);
+
+			tempFile = File.createTempFile(file.getFileName().toString(), ".tmp", _resultDirectory.toFile());
+			MappedTextMetaData.write(data, tempFile);
+			Files.move(tempFile.toPath(), resultFile, StandardCopyOption.REPLACE_EXISTING);
+
+			System.out.println(String.format("%s: %d words, %d chars (%d ms) -> %s",
+					file.getFileName(), data.getNumberOfWords(), data.getNumberOfCharacters(),
+					System.currentTimeMillis() - start, resultFile.getFileName()));
+
+		} catch (IOException e) {
+
+			System.out.println(String.format("%s: %s", file.getFileName(), e.getMessage()));
+
+		} catch (UncheckedIOException e) {
+
+			// a read error of the file handler
+			System.out.println(String.format("%s: %s", file.getFileName(), e.getCause().getMessage()));
+
+		} catch (RuntimeException e) {
+
+			// a failing file must not end the pool thread or, if the file has been
+			// analyzed by the watcher itself, the watching
+			System.out.println(String.format("%s: %s", file.getFileName(), e));
+
+		} finally {
+
+			if (tempFile != null)
+				tempFile.delete();
+		}
+	}
+
+	/**
+	 * getter to retrieve the result file of a file in the drop directory
+	 *
+	 * @param file the file in the drop directory
+	 * @return the file its result is saved to
+	 * @author andreas.gerlach
+	 */
+	private Path getResultFile(Path file) {
+
+		return _resultDirectory.resolve(file.getFileName().toString() + RESULT_EXTENSION);
+	}
+
+	/**
+	 * parses a number given on the command-line that has to be positive
+	 *
+	 * @param value the argument
+	 * @return the number or -1 if the argument is no positive number
+	 * @author andreas.gerlach
+	 */
+	private static int parsePositiveNumber(String value) {
+
+		try {
+
+			int number = Integer.parseInt(value);
+
+			return (number > 0) ? number : -1;
+
+		} catch (NumberFormatException e) {
+
+			return -1;
+		}
+	}
+
+	/**
+	 * shows the command-line help for the calling conventions
+	 *
+	 * @author andreas.gerlach
+	 */
+	private static void ShowUsage() {
+
+		System.out.println("=========================================");
+		System.out.println("ASTA - Directory Watcher");
+		System.out.println("=========================================");
+		System.out.println("USAGE:");
+		System.out.println("\tjava asta.Watcher <DropDirectory> <ResultDirectory> [<NumberOfThreads>]");
+	}
+}
@@ -0,0 +1,461 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.controller;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import asta.model.CancellationToken;
+
+/**
+ * schedules the analyzing processes (jobs) of the application, so several files can
+ * be queued for analyzing without blocking the UI
+ * each job is run in two steps: the I/O-bound preparation (e.g. looking up the result
+ * cache, which reads the whole file) runs on a thread of its own, virtual threads are
+ * used for it if the Java runtime provides them, the CPU-bound analysis runs on a pool
+ * of platform threads that is limited to the maximum number of threads given, the jobs
+ * waiting for the pool are started by their priority (the first submitted first if the
+ * priorities are equal)
+ *
+ * @author andreas.gerlach
+ */
+public class AnalysisScheduler {
+
+	/**
+	 * the priority of jobs started by the user
+	 */
+	public static final int NORMAL_PRIORITY = 0;
+
+	/**
+	 * the priority of the parts of jobs that are analyzed already (e.g. the segments
+	 * of a parallel analysis), they are started ahead of the jobs waiting for the pool
+	 */
+	private static final int PART_PRIORITY = Integer.MAX_VALUE;
+
+	/**
+	 * the time an idle thread of the pool is kept (in seconds)
+	 */
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	/**
+	 * the id of the next job
+	 */
+	private AtomicLong _nextJobId = new AtomicLong(1);
+
+	/**
+	 * the jobs that have been submitted and are not finished yet by their id
+	 */
+	private Map<Long, Job> _jobs = new ConcurrentHashMap<Long, Job>();
+
+	/**
+	 * the threads the jobs are prepared on
+	 */
+	private ExecutorService _ioExecutor = null;
+
+	/**
+	 * the pool of threads the jobs are analyzed on
+	 */
+	private ThreadPoolExecutor _cpuExecutor = null;
+
+	/**
+	 * the executor running the parts of the jobs on the pool
+	 */
+	private Executor _partExecutor = null;
+
+	/**
+	 * constructs a new scheduler
+	 *
+	 * @param maxThreads the maximum number of jobs analyzed at the same time
+	 * @author andreas.gerlach
+	 */
+	public AnalysisScheduler(int maxThreads) {
+
+		ThreadFactory threadFactory = new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+
+				Thread t = new Thread(r, "ASTA Analysis");
+				t.setDaemon(true);
+
+				return t;
+			}
+		};
+
+		_cpuExecutor = new ThreadPoolExecutor(maxThreads, maxThreads,
+				KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), threadFactory);
+		_cpuExecutor.allowCoreThreadTimeOut(true);
+
+		_ioExecutor = createVirtualThreadExecutor();
+
+		if (_ioExecutor == null)
+			_ioExecutor = Executors.newCachedThreadPool(threadFactory);
+
+		_partExecutor = new Executor() {
+
+			@Override
+			public void execute(Runnable part) {
+
+				Job job = new PartJob(part);
+
+				// the part is not counted as active job, so it is not put into the map
+				job._scheduler = AnalysisScheduler.this;
+				job._id = _nextJobId.getAndIncrement();
+
+				_cpuExecutor.execute(job);
+			}
+		};
+	}
+
+	/**
+	 * getter to retrieve the executor that runs parts of a job on the pool the jobs
+	 * are analyzed on (e.g. the segments of a parallel analysis), so the jobs and their
+	 * parts stay within the maximum number of threads together
+	 * the parts are started ahead of the jobs waiting for the pool, a job waiting for
+	 * one of its parts has to run it itself if it has not been started yet, as all
+	 * threads of the pool might be busy with jobs
+	 *
+	 * @return the executor of the parts of the jobs
+	 * @author andreas.gerlach
+	 */
+	public Executor getPartExecutor() {
+
+		return _partExecutor;
+	}
+
+	/**
+	 * creates an executor starting a virtual thread per task
+	 * the executor is looked up by reflection, so the application still runs on
+	 * Java runtimes without virtual threads
+	 *
+	 * @return the executor or NULL if the Java runtime provides no virtual threads
+	 * @author andreas.gerlach
+	 */
+	private static ExecutorService createVirtualThreadExecutor() {
+
+		try {
+
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (IllegalAccessException e) {
+			return null;
+		} catch (InvocationTargetException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * submits a job, the job is prepared right away and waits for the
+	 * pool afterwards if it has to be analyzed
+	 *
+	 * @param job the job to run
+	 * @return the id of the job
+	 * @author andreas.gerlach
+	 */
+	public long submit(final Job job) {
+
+		job._scheduler = this;
+		job._id = _nextJobId.getAndIncrement();
+		_jobs.put(job._id, job);
+
+		_ioExecutor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+
+				boolean analyze = false;
+
+				try {
+
+					analyze = !job.isCancelled() && job.prepare();
+
+				} finally {
+
+					if (analyze)
+						_cpuExecutor.execute(job);
+					else
+						finish(job);
+				}
+			}
+		});
+
+		return job._id;
+	}
+
+	/**
+	 * cancels a job, a job that is waiting is removed from the queue,
+	 * a job that is running is asked to stop by its cancellation token
+	 * (see {@link Job#getCancellationToken()}) and finishes with a partial result
+	 *
+	 * @param jobId the id of the job
+	 * @return TRUE if the job has been found, FALSE if it is finished already
+	 * @author andreas.gerlach
+	 */
+	public boolean cancel(long jobId) {
+
+		Job job = _jobs.get(jobId);
+
+		if (job == null)
+			return false;
+
+		job._token.cancel();
+
+		if (_cpuExecutor.remove(job))
+			finish(job);
+
+		return true;
+	}
+
+	/**
+	 * cancels all jobs that are not finished yet
+	 *
+	 * @author andreas.gerlach
+	 */
+	public void cancelAll() {
+
+		for (Long jobId : new ArrayList<Long>(_jobs.keySet()))
+			cancel(jobId);
+	}
+
+	/**
+	 * checks if a job has not been finished yet
+	 *
+	 * @param jobId the id of the job
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	public boolean isActive(long jobId) {
+
+		return _jobs.containsKey(jobId);
+	}
+
+	/**
+	 * getter to retrieve the number of jobs that have not been finished yet
+	 *
+	 * @return the number of jobs waiting or running
+	 * @author andreas.gerlach
+	 */
+	public int getNumberOfActiveJobs() {
+
+		return _jobs.size();
+	}
+
+	/**
+	 * removes a job from the jobs that are not finished yet and informs it
+	 *
+	 * @param job the job that is finished
+	 * @author andreas.gerlach
+	 */
+	private void finish(Job job) {
+
+		if (_jobs.remove(job._id) != null)
+			job.done();
+	}
+
+	/**
+	 * a job of the scheduler, sub-classes provide the preparation and the analysis
+	 *
+	 * @author andreas.gerlach
+	 */
+	public abstract static class Job implements Runnable, Comparable<Job> {
+
+		/**
+		 * the scheduler the job has been submitted to
+		 */
+		private AnalysisScheduler _scheduler = null;
+
+		/**
+		 * the id of the job (given when it is submitted)
+		 */
+		private long _id = 0;
+
+		/**
+		 * the priority of the job (higher priorities are started first)
+		 */
+		private int _priority = NORMAL_PRIORITY;
+
+		/**
+		 * the token the job is cancelled with
+		 */
+		private CancellationToken _token = new CancellationToken();
+
+		/**
+		 * constructs a new job
+		 *
+		 * @param priority the priority of the job (higher priorities are started first)
+		 * @author andreas.gerlach
+		 */
+		protected Job(int priority) {
+
+			_priority = priority;
+		}
+
+		/**
+		 * getter to retrieve the id of the job
+		 *
+		 * @return the id of the job (0 if it has not been submitted yet)
+		 * @author andreas.gerlach
+		 */
+		public long getId() {
+
+			return _id;
+		}
+
+		/**
+		 * getter to retrieve the priority of the job
+		 *
+		 * @return the priority of the job
+		 * @author andreas.gerlach
+		 */
+		public int getPriority() {
+
+			return _priority;
+		}
+
+		/**
+		 * checks if the job has been cancelled
+		 *
+		 * @return TRUE/FALSE
+		 * @author andreas.gerlach
+		 */
+		public boolean isCancelled() {
+
+			return _token.isCancelled();
+		}
+
+		/**
+		 * getter to retrieve the token the job is cancelled with, the analysis
+		 * has to check it regularly and stop when it has been cancelled
+		 *
+		 * @return the cancellation token of the job
+		 * @author andreas.gerlach
+		 */
+		public CancellationToken getCancellationToken() {
+
+			return _token;
+		}
+
+		/**
+		 * prepares the job on a thread for I/O-bound work
+		 *
+		 * @return TRUE if the job has to be analyzed, FALSE if it is finished already
+		 * @author andreas.gerlach
+		 */
+		protected abstract boolean prepare();
+
+		/**
+		 * analyzes on a thread of the pool limited to the maximum number of threads
+		 *
+		 * @author andreas.gerlach
+		 */
+		protected abstract void analyze();
+
+		/**
+		 * called when the job is finished, cancelled or has failed
+		 * and is not counted as active job any longer
+		 *
+		 * @author andreas.gerlach
+		 */
+		protected void done() {
+			// nothing to do by default
+		}
+
+		/**
+		 * runs the analysis on the pool
+		 *
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public final void run() {
+
+			try {
+
+				if (!isCancelled())
+					analyze();
+
+			} finally {
+
+				_scheduler.finish(this);
+			}
+		}
+
+		/**
+		 * compares the jobs by the order they are started in
+		 *
+		 * @param other the job to compare with
+		 * @return a negative value if this job is started before the other one
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public int compareTo(Job other) {
+
+			if (_priority != other._priority)
+				return (_priority > other._priority) ? -1 : 1;
+
+			return (_id < other._id) ? -1 : ((_id == other._id) ? 0 : 1);
+		}
+	}
+
+	/**
+	 * a part of a job that is queued on the pool like a job with the highest priority,
+	 * it is not counted as job of its own
+	 *
+	 * @author andreas.gerlach
+	 */
+	private static class PartJob extends Job {
+
+		/**
+		 * the part to run
+		 */
+		private Runnable _part = null;
+
+		/**
+		 * constructs a new part of a job
+		 *
+		 * @param part the part to run
+		 * @author andreas.gerlach
+		 */
+		PartJob(Runnable part) {
+
+			super(PART_PRIORITY);
+
+			_part = part;
+		}
+
+		/**
+		 * the part is not prepared, it is queued on the pool directly
+		 *
+		 * @return TRUE
+		 * @author andreas.gerlach
+		 */
+		@Override
+		protected boolean prepare() {
+
+			return true;
+		}
+
+		/**
+		 * runs the part
+		 *
+		 * @author andreas.gerlach
+		 */
+		@Override
+		protected void analyze() {
+
+			_part.run();
+		}
+	}
+}
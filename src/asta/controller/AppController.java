@@ -6,19 +6,32 @@ package asta.controller;
 import java.awt.Dimension;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 
 import asta.model.IFileHandler;
+import asta.model.ITextMetaData;
 import asta.model.ITextProcessingStrategy;
+import asta.model.MappedTextMetaData;
+import asta.model.ReadAheadFileHandler;
+import asta.model.ResultCache;
 import asta.model.Settings;
 import asta.model.TextMetaData;
 import asta.model.TextProcessFinishEvent;
 import asta.model.TextProcessStatusEvent;
 import asta.model.TextProcessStatusListener;
+import asta.model.TextStore;
 import asta.view.MainWindow;
 
 /**
@@ -28,7 +41,6 @@ import asta.view.MainWindow;
  * @author andreas.gerlach
  * @author andreas.p&ouml;rtner
  */
-@SuppressWarnings("deprecation")
 public class AppController implements TextProcessStatusListener {
 
 	/**
@@ -48,17 +60,27 @@ public class AppController implements TextProcessStatusListener {
      */
 	private IFileHandler _fileHandler = null;
 
+	/**
+	 * the file selected by the user
+	 */
+	private File _selectedFile = null;
+
 	/***
 	 * the result of the analyzing process
 	 */
-	private TextMetaData _theMetaData = null;
+	private ITextMetaData _theMetaData = null;
 
 	/**
-     * the reference to the thread that performs the
-     * analyze. its needed to stop the analyzing process
-     * in-between
-     */
-	private Thread _textProcessingThread = null;
+	 * the scheduler running the analyzing processes
+	 * (NULL if no analyzing process has been started yet)
+	 */
+	private AnalysisScheduler _scheduler = null;
+
+	/**
+	 * the analyzing process that has been started last, its progress and its result
+	 * are shown in the UI (NULL if it is finished)
+	 */
+	private volatile AnalysisJob _currentJob = null;
 
 	/**
 	 * a central place to store application specific settings
@@ -73,6 +95,31 @@ public class AppController implements TextProcessStatusListener {
 	 */
 	private String _theSelectedWord = null;
 	
+	/**
+	 * the cache of the results of analyzing processes
+	 * (NULL if not created yet or caching is switched off)
+	 */
+	private ResultCache _resultCache = null;
+	
+	/**
+	 * the latest process update that has not been shown in the UI yet
+	 */
+	private AtomicReference<TextProcessStatusEvent> _pendingUpdate = 
+								new AtomicReference<TextProcessStatusEvent>();
+	
+	/**
+	 * the latest snapshot of the results found so far that has not been shown in the UI yet
+	 * (kept apart from the updates, so it is not dropped when updates are coalesced)
+	 */
+	private AtomicReference<ITextMetaData> _pendingSnapshot = 
+								new AtomicReference<ITextMetaData>();
+	
+	/**
+	 * the messages of the analyzing processes that have failed and have not been
+	 * shown in the UI yet, they are shown together in one dialog
+	 */
+	private ArrayList<String> _pendingFailures = new ArrayList<String>();
+	
 	/**
 	 * the private constructor of the controller
 	 * (as described in the Singleton pattern)
@@ -128,30 +175,69 @@ public class AppController implements TextProcessStatusListener {
 	}
 
 	/**
-	 * initializes and starts the background thread to
-	 * analyze the content of the file
+	 * queues the analyzing process of the selected file with the normal priority
 	 * 
 	 * @param strategy the strategy used to analyze the file content
-	 * @throws InterruptedException the thread was aborted
+	 * @return the id of the analyzing process
 	 * 
 	 * @author andreas.gerlach
 	 */
-	public void analyzeFile(ITextProcessingStrategy strategy) throws InterruptedException {
-
-		// check if an old thread is still running and wait until it is finished
-		if (_textProcessingThread != null) {
+	public long analyzeFile(ITextProcessingStrategy strategy) {
 
-			if (_textProcessingThread.isAlive())
-				_textProcessingThread.join();
+		return analyzeFile(strategy, AnalysisScheduler.NORMAL_PRIORITY);
+	}
 
-			_textProcessingThread = null;
-		}
+	/**
+	 * queues the analyzing process of the selected file, the process is started
+	 * as soon as the number of running processes is below the maximum given by the settings
+	 * (see {@link Settings#getMaxAnalysisThreads()}), so another file can be selected and
+	 * queued while the file is analyzed
+	 * 
+	 * @param strategy the strategy used to analyze the file content
+	 * @param priority the priority of the process (higher priorities are started first)
+	 * @return the id of the analyzing process
+	 * 
+	 * @author andreas.gerlach
+	 */
+	public long analyzeFile(ITextProcessingStrategy strategy, int priority) {
 
 		_theMetaData = null;
 		_theSelectedWord = null;
 		
-		_textProcessingThread = new Thread(new WorkerThread(_fileHandler, strategy));
-		_textProcessingThread.start();
+		// read the next chunks of the file in the background 
+		// while the current one is analyzed
+		IFileHandler fileHandler = _fileHandler;
+		
+		if (getSettings().getReadAheadChunks() > 0)
+			fileHandler = new ReadAheadFileHandler(fileHandler, 
+								getSettings().getReadAheadChunks());
+		
+		// each process gets an instance of the strategy of its own, so the
+		// processes running at the same time do not receive the events of each other
+		ITextProcessingStrategy jobStrategy = strategy;
+		
+		try {
+			
+			jobStrategy = strategy.getClass().getDeclaredConstructor().newInstance();
+			
+		} catch (InstantiationException e) {
+			// the strategy given is used
+		} catch (IllegalAccessException e) {
+			// the strategy given is used
+		} catch (InvocationTargetException e) {
+			// the strategy given is used
+		} catch (NoSuchMethodException e) {
+			// the strategy given is used
+		}
+		
+		AnalysisJob job = new AnalysisJob(_selectedFile, fileHandler, jobStrategy, priority);
+		_currentJob = job;
+		
+		// the file handler is used up by the process
+		_fileHandler = null;
+		_selectedFile = null;
+		
+		return getScheduler().submit(job);
 	}
 
 	/**
@@ -192,7 +278,9 @@ public class AppController implements TextProcessStatusListener {
 
 			try {
 
+				_fileHandler.setRetainPlainText(getSettings().isRetainPlainText());
 				_fileHandler.setFile(selectedFile.getAbsolutePath());
+				_selectedFile = selectedFile.getAbsoluteFile();
 				getMainWindow().setSelectedFile(selectedFile.getName());
 
 			} catch (IOException e) {
@@ -203,6 +291,59 @@ public class AppController implements TextProcessStatusListener {
 		}
 	}
 
+	/**
+	 * saves the result of the last analyzing process to a file, so it can be
+	 * opened again without analyzing the text once more
+	 * 
+	 * @param resultFile the file the result is saved to
+	 * @throws IOException if the file cannot be written
+	 * @author andreas.gerlach
+	 */
+	public void saveResult(File resultFile) throws IOException {
+
+		if (_theMetaData instanceof TextMetaData) {
+			
+			MappedTextMetaData.write((TextMetaData) _theMetaData, resultFile);
+			
+		} else if (_theMetaData instanceof MappedTextMetaData) {
+			
+			// a result that has been opened from a file is just copied
+			Files.copy(((MappedTextMetaData) _theMetaData).getFile().toPath(), 
+					resultFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * opens the result of an analyzing process that has been saved before
+	 * and shows it in the UI (the text itself is not part of the result)
+	 * 
+	 * @param resultFile the file the result has been saved to
+	 * @throws IOException if the file cannot be read or holds no result
+	 * @author andreas.gerlach
+	 */
+	public void openResult(File resultFile) throws IOException {
+
+		ITextMetaData data = new MappedTextMetaData(resultFile);
+		
+		_fileHandler = null;
+		_theSelectedWord = null;
+		_theMetaData = data;
+		
+		getMainWindow().setSelectedFile(resultFile.getName());
+		getMainWindow().setProcessResult(null, _theMetaData);
+	}
+
+	/**
+	 * getter to retrieve the information whether there is a result of an analyzing process
+	 * 
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	public boolean isResultAvailable() {
+
+		return (_theMetaData != null);
+	}
+
 	/**
 	 * getter to access the actual file handler for opening and reading the file content
 	 * 
@@ -227,6 +368,59 @@ public class AppController implements TextProcessStatusListener {
 		this.stopAnalyzing();
 	}
 
+	/**
+	 * reports the exception an analyzing process has failed with, only this process
+	 * is stopped, the processes failing until the UI shows the message are reported
+	 * together in one dialog
+	 * 
+	 * @param job the analyzing process that has failed
+	 * @param ex the exception that has occurred
+	 * @author andreas.gerlach
+	 */
+	private void handleJobException(AnalysisJob job, Exception ex) {
+
+		if (_scheduler != null)
+			_scheduler.cancel(job.getId());
+		
+		synchronized (_pendingFailures) {
+			
+			_pendingFailures.add(String.format("%s: %s", job._fileHandler.getFile(), ex.getMessage()));
+			
+			// the dialog is shown already or about to be shown
+			if (_pendingFailures.size() > 1)
+				return;
+		}
+		
+		SwingUtilities.invokeLater(new Runnable() {
+
+			@Override
+			public void run() {
+
+				StringBuilder message = new StringBuilder("Die Analyse ist fehlgeschlagen:");
+				int nmbrOfFailures = 0;
+				
+				synchronized (_pendingFailures) {
+					
+					for (String failure : _pendingFailures)
+						message.append("\n").append(failure);
+					
+					nmbrOfFailures = _pendingFailures.size();
+				}
+				
+				JOptionPane.showMessageDialog(getMainWindow(), message.toString());
+				
+				// the processes failing while the dialog has been shown are reported in the next one
+				synchronized (_pendingFailures) {
+					
+					_pendingFailures.subList(0, nmbrOfFailures).clear();
+					
+					if (!_pendingFailures.isEmpty())
+						SwingUtilities.invokeLater(this);
+				}
+			}
+		});
+	}
+
 	/**
 	 * getter to retrieve the information whether a file is selected
 	 * 
@@ -240,20 +434,37 @@ public class AppController implements TextProcessStatusListener {
 
 	/**
 	 * getter to retrieve the information whether an analyzing process
-	 * is already active
+	 * is already active (or waiting to be started)
 	 * 
 	 * @return TRUE/FALSE
 	 * @author andreas.gerlach
 	 */
 	public boolean isAnalyzingInProgress() {
 
-		return ((_textProcessingThread != null) && (_textProcessingThread
-				.isAlive()));
+		AnalysisScheduler scheduler = _scheduler;
+		
+		return ((scheduler != null) && (scheduler.getNumberOfActiveJobs() > 0));
+	}
+
+	/**
+	 * getter to retrieve the name of the file whose analyzing process has been started last
+	 * 
+	 * @return the name of the file or NULL if the process is finished or has been stopped
+	 * @author andreas.gerlach
+	 */
+	public String getAnalyzedFile() {
+
+		AnalysisJob job = _currentJob;
+		
+		return (job != null) ? job._fileHandler.getFile() : null;
 	}
 
 	/**
 	 * an event handler for the process update event 
 	 * that will inform the UI about the current progress information
+	 * the update is handed over to the event dispatch thread, updates arriving 
+	 * before the UI has shown the last one are coalesced (only the latest is shown),
+	 * a snapshot of the results found so far sent with the update is shown as well
 	 * 
 	 * @param evt the event information like percentage completed, word found
 	 * @author andreas.gerlach
@@ -261,26 +472,60 @@ public class AppController implements TextProcessStatusListener {
 	@Override
 	public void update(TextProcessStatusEvent evt) {
 
-		this.getMainWindow().setProcessInformation(evt.getPercentage(),
-				evt.getMessage());
+		if (evt.getSnapshot() != null)
+			_pendingSnapshot.set(evt.getSnapshot());
+		
+		if (_pendingUpdate.getAndSet(evt) != null)
+			return;
+
+		SwingUtilities.invokeLater(new Runnable() {
+
+			@Override
+			public void run() {
+
+				TextProcessStatusEvent evt = _pendingUpdate.getAndSet(null);
+				ITextMetaData snapshot = _pendingSnapshot.getAndSet(null);
+
+				if (getAnalyzedFile() == null)
+					return;
+				
+				if (snapshot != null)
+					getMainWindow().setProcessSnapshot(snapshot);
+				
+				if (evt != null)
+					getMainWindow().setProcessInformation(evt.getPercentage(),
+							evt.getMessage());
+			}
+		});
 	}
 
 	/**
 	 * an event handler for the process finish event
 	 * that will inform the UI about the process results
+	 * the results are handed over to the event dispatch thread after any pending update
 	 * 
 	 * @param evt the event information like the raw-text, text meta data
 	 * @author andreas.gerlach
 	 */
 	@Override
-	public void finish(TextProcessFinishEvent evt) {
+	public void finish(final TextProcessFinishEvent evt) {
 
-		_textProcessingThread = null;
-		_fileHandler = null;
+		SwingUtilities.invokeLater(new Runnable() {
 
-		_theMetaData = evt.getMetaData();
+			@Override
+			public void run() {
 
-		this.getMainWindow().setProcessResult(evt.getText(), _theMetaData);
+				_theMetaData = evt.getMetaData();
+
+				getMainWindow().setProcessResult(evt.getText(), _theMetaData);
+				
+				if ((_theMetaData instanceof TextMetaData)
+						&& (((TextMetaData) _theMetaData).getCancelledPosition() >= 0))
+					JOptionPane.showMessageDialog(getMainWindow(), String.format(
+							"Die Analyse wurde bei Byte %d abgebrochen, das Ergebnis ist unvollständig.",
+							((TextMetaData) _theMetaData).getCancelledPosition()));
+			}
+		});
 	}
 
 	/**
@@ -348,23 +593,62 @@ public class AppController implements TextProcessStatusListener {
 	}
 
 	/**
-	 * stops the current active analyze process of the file by
-	 * interrupting the running background thread
+	 * stops all analyzing processes that are running or waiting to be started
+	 * a running process stops after the chunk of the file it is analyzing, the
+	 * partial result of the process started last is shown (the words found up to this chunk)
 	 * 
 	 * @author andreas.gerlach
 	 */
 	public void stopAnalyzing() {
 
-		if ((_textProcessingThread != null)
-				&& (_textProcessingThread.isAlive())) {
+		if (_scheduler != null)
+			_scheduler.cancelAll();
+	}
 
-			_textProcessingThread.stop();
-		}
+	/**
+	 * stops an analyzing process that is running or waiting to be started
+	 * 
+	 * @param jobId the id of the analyzing process (see {@link #analyzeFile})
+	 * @return TRUE if the process has been stopped, FALSE if it is finished already
+	 * @author andreas.gerlach
+	 */
+	public boolean stopAnalyzing(long jobId) {
+
+		return (_scheduler != null) && _scheduler.cancel(jobId);
+	}
+
+	/**
+	 * getter to retrieve the scheduler running the analyzing processes
+	 * it is created on first use based on the global application settings
+	 * 
+	 * @return the scheduler of the analyzing processes
+	 * @author andreas.gerlach
+	 */
+	public synchronized AnalysisScheduler getScheduler() {
 
-		_textProcessingThread = null;
+		if (_scheduler == null)
+			_scheduler = new AnalysisScheduler(getSettings().getMaxAnalysisThreads());
+
+		return _scheduler;
 	}
 
 	
+	/**
+	 * getter to retrieve the cache of the results of analyzing processes
+	 * it is created on first use based on the global application settings
+	 * 
+	 * @return the result cache or NULL if caching is switched off
+	 * @author andreas.gerlach
+	 */
+	public synchronized ResultCache getResultCache() {
+
+		if ((_resultCache == null) && (getSettings().getResultCacheSize() > 0))
+			_resultCache = new ResultCache(getSettings().getResultCacheDirectory(),
+					getSettings().getResultCacheSize());
+
+		return _resultCache;
+	}
+
 	/**
 	 * getter to retrieve the global application settings
 	 * 
@@ -377,12 +661,18 @@ public class AppController implements TextProcessStatusListener {
 	}
 
 	/**
-	 * the background thread object to process and analyze the
-	 * file content
+	 * the analyzing process of a file run by the scheduler, the result cache is looked
+	 * up while preparing the process, the file content is only analyzed if the result
+	 * has not been cached before
 	 * 
 	 * @author andreas.gerlach
 	 */
-	class WorkerThread implements Runnable {
+	class AnalysisJob extends AnalysisScheduler.Job implements TextProcessStatusListener {
+
+		/**
+		 * the file to analyze
+		 */
+		File _file = null;
 
 		/**
 	     * the file handler instance that knows how to read
@@ -396,28 +686,240 @@ public class AppController implements TextProcessStatusListener {
 		ITextProcessingStrategy _strategy = null;
 
 		/**
-		 * constructor to instantiate a new worker thread object
+		 * the key of the result in the cache (NULL if the result is not cached)
+		 */
+		String _cacheKey = null;
+
+		/**
+		 * the result of the process (NULL until it is finished)
+		 */
+		TextProcessFinishEvent _result = null;
+
+		/**
+		 * whether the result has been shown already (a result found in the cache)
+		 */
+		boolean _resultShown = false;
+
+		/**
+		 * constructor to instantiate a new analyzing process
 		 * 
+		 * @param file the file to analyze
 		 * @param fileHandler the file handler that should be used to open the file
 		 * @param strategy the processing strategy that should be used to analyze the file content
+		 * @param priority the priority of the process
 		 * @author andreas.gerlach
 		 */
-		public WorkerThread(IFileHandler fileHandler,
-				ITextProcessingStrategy strategy) {
+		AnalysisJob(File file, IFileHandler fileHandler,
+				ITextProcessingStrategy strategy, int priority) {
 
+			super(priority);
+
+			_file = file;
 			_fileHandler = fileHandler;
 			_strategy = strategy;
 		}
 
+		/**
+		 * looks up the result of the file content in the cache
+		 * if the result has been cached before, it is shown right away without analyzing
+		 * the content once more, the text of the file is loaded afterwards
+		 * 
+		 * @return TRUE if the file content has to be analyzed
+		 * @author andreas.gerlach
+		 */
+		@Override
+		protected boolean prepare() {
+
+			ResultCache cache = getResultCache();
+			
+			if (cache != null) {
+				
+				try {
+					
+					update(new TextProcessStatusEvent(this, -1, "Suche Ergebnis im Cache..."));
+					
+					_cacheKey = cache.getKey(_file, _strategy);
+					ITextMetaData cachedResult = cache.get(_cacheKey);
+					
+					if (cachedResult != null) {
+						
+						// the result of an older process would replace the one of the process started last
+						if (_currentJob == this) {
+							
+							AppController.this.finish(new TextProcessFinishEvent(_strategy, null, cachedResult));
+							_resultShown = true;
+							
+							showPlainText(cachedResult);
+						}
+						
+						return false;
+					}
+					
+				} catch (IOException e) {
+					
+					// the cache is an optimization only, so the file is analyzed as usual
+					_cacheKey = null;
+				}
+			}
+			
+			return true;
+		}
+
 		/**
 		 * parses and analyzes the file content
+		 * 
+		 * @author andreas.gerlach
+		 */
+		@Override
+		protected void analyze() {
+
+			TextMetaData result = null;
+			
+			_strategy.addTextProcessListener(this);
+			
+			try {
+				
+				result = _strategy.parse(_fileHandler, getCancellationToken());
+				
+			} catch (UncheckedIOException e) {
+				
+				// the file cannot be read (any longer), so there is no result
+				handleJobException(this, e.getCause());
+				return;
+				
+			} catch (CancellationException e) {
+				
+				// the thread has been interrupted (the application is shutting down),
+				// the text has not been read completely, so there is no result
+				return;
+				
+			} finally {
+				
+				_strategy.removeTextProcessListener(this);
+			}
+			
+			// a partial result is not cached
+			if ((_cacheKey != null) && (result.getCancelledPosition() < 0)) {
+				
+				try {
+					
+					getResultCache().put(_cacheKey, result);
+					
+				} catch (IOException e) {
+					
+					// the result is just not cached
+				}
+			}
+		}
+
+		/**
+		 * shows the result of the process in the UI when it is finished and
+		 * the process has been started last, the result of an older process
+		 * would replace the one of the process started last
+		 * 
+		 * @author andreas.gerlach
+		 */
+		@Override
+		protected void done() {
+
+			if (_currentJob != this)
+				return;
+			
+			_currentJob = null;
+			
+			if (_result != null) {
+				
+				AppController.this.finish(_result);
+				
+			} else if (!_resultShown) {
+				
+				// the process has been stopped or failed
+				SwingUtilities.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+
+						getMainWindow().setProcessStopped();
+					}
+				});
+			}
+		}
+
+		/**
+		 * forwards the process updates to the UI if the process has been started last
+		 * 
+		 * @param evt the event information like percentage completed, word found
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public void update(TextProcessStatusEvent evt) {
+
+			if (_currentJob == this)
+				AppController.this.update(evt);
+		}
+
+		/**
+		 * keeps the result of the process until the scheduler reports the process as done
+		 * 
+		 * @param evt the event information like the raw-text, text meta data
+		 * @author andreas.gerlach
 		 */
 		@Override
-		public void run() {
+		public void finish(TextProcessFinishEvent evt) {
+
+			_result = evt;
+		}
+
+		/**
+		 * reads the raw-text of the file without analyzing it and shows it together
+		 * with the result that is shown already, reading stops when the process is
+		 * cancelled or another one has been started
+		 * 
+		 * @param result the result the text belongs to
+		 * @author andreas.gerlach
+		 */
+		private void showPlainText(final ITextMetaData result) {
+			
+			if (!getSettings().isRetainPlainText())
+				return;
+			
+			try {
+				
+				while (_fileHandler.hasNext()) {
+					
+					if (isCancelled() || (_currentJob != this)) {
+						
+						_fileHandler.close();
+						return;
+					}
+					
+					_fileHandler.next();
+				}
+				
+			} catch (UncheckedIOException e) {
+				
+				// the result is shown anyway, just without its text
+				handleJobException(this, e.getCause());
+				return;
+				
+			} catch (CancellationException e) {
+				
+				// the thread has been interrupted, the result is shown without its text
+				return;
+			}
+			
+			final TextStore text = _fileHandler.getPlainText();
+			
+			SwingUtilities.invokeLater(new Runnable() {
+
+				@Override
+				public void run() {
 
-			_strategy.addTextProcessListener(AppController.getInstance());
-			_strategy.parse(_fileHandler);
-			_strategy.removeTextProcessListener(AppController.getInstance());
+					// the result might have been replaced in the meantime
+					if (_theMetaData == result)
+						getMainWindow().setProcessText(text);
+				}
+			});
 		}
 	}
 }
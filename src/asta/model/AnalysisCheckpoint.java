@@ -0,0 +1,240 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * the state of an analyzing process saved to a file, so a process that has crashed
+ * or has been cancelled can be resumed instead of restarted
+ * the checkpoint holds the position in the file reading is resumed from, the position
+ * in the text, the word that has not been finished yet and the meta data of the text
+ * analyzed so far, the path, length and modification time of the file are kept as well,
+ * so the checkpoint is not used for another file or a file that has been changed
+ *
+ * @author andreas.gerlach
+ */
+class AnalysisCheckpoint {
+
+	/**
+	 * the magic number at the start of a checkpoint file ("ASCP")
+	 */
+	private static final int MAGIC = 0x41534350;
+
+	/**
+	 * the version of the format of the checkpoint file
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * the size of the buffer used to read and write the checkpoint file
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * the position in the file reading is resumed from
+	 */
+	private long _resumePosition = 0;
+
+	/**
+	 * the position in the text behind the text analyzed so far
+	 */
+	private long _caretPosition = 0;
+
+	/**
+	 * the characters of the word that has not been finished yet
+	 */
+	private String _pendingWord = null;
+
+	/**
+	 * the meta data of the text analyzed so far
+	 */
+	private TextMetaData _metaData = null;
+
+	/**
+	 * constructs a new checkpoint
+	 *
+	 * @param resumePosition the position in the file reading is resumed from
+	 * @param caretPosition the position in the text behind the text analyzed so far
+	 * @param pendingWord the characters of the word that has not been finished yet
+	 * @param metaData the meta data of the text analyzed so far
+	 * @author andreas.gerlach
+	 */
+	AnalysisCheckpoint(long resumePosition, long caretPosition, String pendingWord, TextMetaData metaData) {
+
+		_resumePosition = resumePosition;
+		_caretPosition = caretPosition;
+		_pendingWord = pendingWord;
+		_metaData = metaData;
+	}
+
+	/**
+	 * getter to retrieve the position in the file reading is resumed from
+	 *
+	 * @return the position in the file in bytes
+	 * @author andreas.gerlach
+	 */
+	long getResumePosition() {
+
+		return _resumePosition;
+	}
+
+	/**
+	 * getter to retrieve the position in the text behind the text analyzed so far
+	 *
+	 * @return the position in the text
+	 * @author andreas.gerlach
+	 */
+	long getCaretPosition() {
+
+		return _caretPosition;
+	}
+
+	/**
+	 * getter to retrieve the characters of the word that has not been finished yet
+	 *
+	 * @return the characters of the word
+	 * @author andreas.gerlach
+	 */
+	String getPendingWord() {
+
+		return _pendingWord;
+	}
+
+	/**
+	 * getter to retrieve the meta data of the text analyzed so far
+	 *
+	 * @return the meta data of the text analyzed so far
+	 * @author andreas.gerlach
+	 */
+	TextMetaData getMetaData() {
+
+		return _metaData;
+	}
+
+	/**
+	 * writes the checkpoint to a file, the checkpoint is written to a temporary file
+	 * first, so the last checkpoint is kept if the process crashes in-between
+	 *
+	 * @param checkpointFile the file the checkpoint is written to
+	 * @param strategy the strategy of the analyzing process
+	 * @param file the file handler of the file that is analyzed
+	 * @throws IOException if the checkpoint cannot be written
+	 * @author andreas.gerlach
+	 */
+	void write(File checkpointFile, ITextProcessingStrategy strategy, IFileHandler file) throws IOException {
+
+		File tempFile = new File(checkpointFile.getPath() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(tempFile), BUFFER_SIZE));
+
+		try {
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(strategy.getClass().getName());
+			out.writeUTF(getPath(file));
+			out.writeLong(file.getFileLength());
+			out.writeLong(getLastModified(file));
+			out.writeLong(_resumePosition);
+			out.writeLong(_caretPosition);
+			out.writeInt(_pendingWord.length());
+			out.writeChars(_pendingWord);
+
+			_metaData.writeTo(out);
+
+		} finally {
+
+			out.close();
+		}
+
+		if (checkpointFile.exists() && !checkpointFile.delete())
+			throw new IOException("Checkpoint " + checkpointFile + " cannot be replaced!");
+
+		if (!tempFile.renameTo(checkpointFile))
+			throw new IOException("Checkpoint cannot be saved as " + checkpointFile + "!");
+	}
+
+	/**
+	 * reads the checkpoint of an analyzing process from a file
+	 *
+	 * @param checkpointFile the file the checkpoint has been written to
+	 * @param strategy the strategy of the analyzing process
+	 * @param file the file handler of the file that is analyzed
+	 * @return the checkpoint or NULL if there is none or it does not fit the analyzing process
+	 * @throws IOException if the checkpoint cannot be read
+	 * @author andreas.gerlach
+	 */
+	static AnalysisCheckpoint read(File checkpointFile, ITextProcessingStrategy strategy,
+			IFileHandler file) throws IOException {
+
+		if (!checkpointFile.isFile())
+			return null;
+
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(checkpointFile), BUFFER_SIZE));
+
+		try {
+
+			if ((in.readInt() != MAGIC) || (in.readInt() != VERSION)
+					|| !strategy.getClass().getName().equals(in.readUTF()))
+				return null;
+
+			// the checkpoint belongs to another file or the file has been changed since
+			if (!getPath(file).equals(in.readUTF()) || (in.readLong() != file.getFileLength())
+					|| (in.readLong() != getLastModified(file)))
+				return null;
+
+			long resumePosition = in.readLong();
+			long caretPosition = in.readLong();
+
+			char[] pendingWord = new char[in.readInt()];
+
+			for (int i = 0; i < pendingWord.length; ++i)
+				pendingWord[i] = in.readChar();
+
+			return new AnalysisCheckpoint(resumePosition, caretPosition,
+					new String(pendingWord), TextMetaData.readFrom(in));
+
+		} finally {
+
+			in.close();
+		}
+	}
+
+	/**
+	 * getter to retrieve the absolute path of the file that is analyzed
+	 *
+	 * @param file the file handler of the file that is analyzed
+	 * @return the absolute path of the file or an empty string if it is not known
+	 * @author andreas.gerlach
+	 */
+	private static String getPath(IFileHandler file) {
+
+		File path = file.getAbsoluteFile();
+
+		return (path != null) ? path.getPath() : "";
+	}
+
+	/**
+	 * getter to retrieve the time the file that is analyzed has been modified last
+	 *
+	 * @param file the file handler of the file that is analyzed
+	 * @return the time of the last modification or 0 if it is not known
+	 * @author andreas.gerlach
+	 */
+	private static long getLastModified(IFileHandler file) {
+
+		File path = file.getAbsoluteFile();
+
+		return (path != null) ? path.lastModified() : 0;
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * a token to stop an analyzing process cooperatively
+ * the text processing strategies check the token after each chunk of the file and
+ * stop reading the file when it has been cancelled, the words found so far are
+ * delivered as consistent partial result (see {@link TextMetaData#getCancelledPosition()})
+ *
+ * @author andreas.gerlach
+ */
+public class CancellationToken {
+
+	/**
+	 * set when the analyzing process should stop
+	 */
+	private volatile boolean _cancelled = false;
+
+	/**
+	 * asks the analyzing process to stop as soon as possible
+	 *
+	 * @author andreas.gerlach
+	 */
+	public void cancel() {
+
+		_cancelled = true;
+	}
+
+	/**
+	 * checks if the analyzing process should stop
+	 *
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	public boolean isCancelled() {
+
+		return _cancelled;
+	}
+}
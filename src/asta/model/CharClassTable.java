@@ -0,0 +1,174 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.util.Arrays;
+
+/**
+ * a precomputed table classifying each character of the basic multilingual plane
+ * for the tokenizer, so the text processing strategies need a single array access
+ * per character instead of evaluating the unicode character type each time
+ * ASCII and Latin-1 characters are looked up in a small separate table that easily
+ * stays in the processor cache
+ *
+ * @author andreas.gerlach
+ */
+final class CharClassTable {
+
+	/**
+	 * the character is part of a word
+	 */
+	static final byte WORD = 0;
+
+	/**
+	 * the character separates two words (punctuation, spaces, control characters)
+	 */
+	static final byte SEPARATOR = 1;
+
+	/**
+	 * the character separates two words unless it is surrounded by letters or digits
+	 * (other punctuation like in 1.2.3 or V.1.2)
+	 */
+	static final byte CONDITIONAL_SEPARATOR = 2;
+
+	/**
+	 * flag that is set in addition for letters and digits
+	 */
+	static final byte LETTER_OR_DIGIT = 4;
+
+	/**
+	 * flag that is set in addition for digits
+	 */
+	static final byte DIGIT = 8;
+
+	/**
+	 * flag that is set in addition for characters counting as vowels
+	 * (the lower case of the character is one of the vowels)
+	 */
+	static final byte VOWEL = 16;
+
+	/**
+	 * the mask to get the class of a character without the additional flags
+	 */
+	static final byte CLASS_MASK = 3;
+
+	/**
+	 * the characters that count as vowels (sorted)
+	 */
+	private static final char[] VOWELS = new char[] { 'a', 'e', 'i', 'o', 'u',
+													  '\u00E4', '\u00F6', '\u00FC' };
+
+	/**
+	 * the classes of the ASCII and Latin-1 characters
+	 */
+	private static final byte[] LATIN1 = new byte[0x100];
+
+	/**
+	 * the classes of all characters of the basic multilingual plane
+	 */
+	private static final byte[] BMP = new byte[0x10000];
+
+	static {
+
+		for (int c = 0; c < BMP.length; ++c)
+			BMP[c] = classify((char) c);
+
+		System.arraycopy(BMP, 0, LATIN1, 0, LATIN1.length);
+	}
+
+	/**
+	 * no instances needed, the table is accessed statically
+	 */
+	private CharClassTable() {
+	}
+
+	/**
+	 * getter to retrieve the class of the character together with its flags
+	 *
+	 * @param c the character to classify
+	 * @return the class of the character or-ed with the flags
+	 * @author andreas.gerlach
+	 */
+	static byte classOf(char c) {
+
+		return (c < 0x100) ? LATIN1[c] : BMP[c];
+	}
+
+	/**
+	 * checks if the character is a letter or digit
+	 *
+	 * @param c the character to check
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	static boolean isLetterOrDigit(char c) {
+
+		return (classOf(c) & LETTER_OR_DIGIT) != 0;
+	}
+
+	/**
+	 * checks if the character is a digit
+	 *
+	 * @param c the character to check
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	static boolean isDigit(char c) {
+
+		return (classOf(c) & DIGIT) != 0;
+	}
+
+	/**
+	 * checks if the character counts as vowel
+	 *
+	 * @param c the character to check
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	static boolean isVowel(char c) {
+
+		return (classOf(c) & VOWEL) != 0;
+	}
+
+	/**
+	 * classifies a character based on its unicode character type
+	 *
+	 * @param c the character to classify
+	 * @return the class of the character or-ed with the flags
+	 * @author andreas.gerlach
+	 */
+	private static byte classify(char c) {
+
+		int flags = Character.isLetterOrDigit(c) ? LETTER_OR_DIGIT : 0;
+
+		if (Character.isDigit(c))
+			flags |= DIGIT;
+		else if (Arrays.binarySearch(VOWELS, Character.toLowerCase(c)) >= 0)
+			flags |= VOWEL;
+
+		switch (Character.getType(c)) {
+
+		case Character.START_PUNCTUATION:
+		case Character.INITIAL_QUOTE_PUNCTUATION:
+		case Character.FINAL_QUOTE_PUNCTUATION:
+		case Character.END_PUNCTUATION:
+		case Character.DASH_PUNCTUATION:
+		case Character.CONNECTOR_PUNCTUATION:
+		case Character.SPACE_SEPARATOR:
+		case Character.LINE_SEPARATOR:
+		case Character.PARAGRAPH_SEPARATOR:
+		case Character.CONTROL:
+
+			return (byte) (SEPARATOR | flags);
+
+		case Character.OTHER_PUNCTUATION:
+
+			return (byte) (CONDITIONAL_SEPARATOR | flags);
+
+		default:
+
+			return (byte) (WORD | flags);
+		}
+	}
+}
@@ -3,8 +3,13 @@
  */
 package asta.model;
 
+import java.io.File;
+import java.io.IOException;
+
 import javax.swing.event.EventListenerList;
 
+import asta.controller.AppController;
+
 /**
  * the generic text processing strategy that evaluates plain text and informs
  * about words found within it
@@ -29,106 +34,118 @@ public class GenericTextProcessingStrategy implements ITextProcessingStrategy {
 	 */
 	public TextMetaData parse(IFileHandler file) {
 
+		return parse(file, new CancellationToken());
+	}
+
+	/**
+	 * analyze the file content and prepares the text meta data information
+	 * based on the words, characters and punctuation found in the file
+	 * the token is checked before each chunk of the file, if it has been cancelled the
+	 * file is released and the words found so far are returned as partial result
+	 * 
+	 * @param file the file handler that knows how to read the file
+	 * @param token the token to stop the analyzing in-between
+	 * @return the file meta information like number of words, chars etc.
+	 * 
+	 * @author andreas.gerlach
+	 */
+	public TextMetaData parse(IFileHandler file, CancellationToken token) {
+
+		return parse(file, token, null);
+	}
+
+	/**
+	 * analyze the file content and prepares the text meta data information
+	 * based on the words, characters and punctuation found in the file
+	 * the state of the analyzing process is saved to the checkpoint file given from time
+	 * to time (see {@link Settings#getCheckpointInterval()}) and when it is cancelled, if
+	 * there is a checkpoint of an earlier process of the same file it is resumed from
+	 * there instead of the start of the file, the checkpoint file is deleted when the
+	 * file has been analyzed completely
+	 * the text is analyzed sequentially by each strategy in this case
+	 * 
+	 * @param file the file handler that knows how to read the file
+	 * @param token the token to stop the analyzing in-between
+	 * @param checkpointFile the file the state of the process is saved to
+	 * (NULL if no checkpoints are wanted)
+	 * @return the file meta information like number of words, chars etc.
+	 * 
+	 * @author andreas.gerlach
+	 */
+	public TextMetaData parse(IFileHandler file, CancellationToken token, File checkpointFile) {
+
 		TextMetaData metaData = new TextMetaData();
-		StringBuilder bldWord = new StringBuilder();
+		String pendingWord = "";
 
 		// the caret position holds the current position in the text stream
 		// and is used to store the position of the words that have been found
 		// which is useful information to highlight the words later on
 		long caretPosition = 0;
 		
-		while (file.hasNext()) {
-
-			// we iterate over the file content (which is obviously text based)
-			String filePart = file.next();
+		if (checkpointFile != null) {
 			
-			for (int i = 0; i < filePart.length(); ++i) {
-
-				char c = filePart.charAt(i);
-				boolean isWordFinisihed = false;
-
-				int type = Character.getType(c);
-
-				// check for a punctuation character
-				switch (type) {
+			try {
 				
-				case Character.START_PUNCTUATION:
-				case Character.INITIAL_QUOTE_PUNCTUATION:
-				case Character.FINAL_QUOTE_PUNCTUATION:
-				case Character.END_PUNCTUATION:
-				case Character.DASH_PUNCTUATION:
-				case Character.CONNECTOR_PUNCTUATION:
-				case Character.SPACE_SEPARATOR:
-				case Character.LINE_SEPARATOR:
-				case Character.PARAGRAPH_SEPARATOR:
-				case Character.CONTROL:
+				AnalysisCheckpoint checkpoint = AnalysisCheckpoint.read(checkpointFile, this, file);
+				
+				if (checkpoint != null) {
 					
-					isWordFinisihed = true;
-					break;
+					file.resumeAt(checkpoint.getResumePosition());
 					
-				case Character.OTHER_PUNCTUATION:
-
-					// if we found a punctuation between a letter or digit
-					// aka 1.2.3 or V.1.2 or something like this
-					// we will see this as a single word
-					if ((i > 0)
-							&& (i != filePart.length() - 1)
-							&& Character
-									.isLetterOrDigit(filePart.charAt(i - 1))
-							&& Character
-									.isLetterOrDigit(filePart.charAt(i + 1))) {
-
-						isWordFinisihed = false;
-					}
-					else {
-						
-						isWordFinisihed = true;
-					}
-					break;
-
-				default:
-
-					isWordFinisihed = false;
-					break;
+					metaData = checkpoint.getMetaData();
+					pendingWord = checkpoint.getPendingWord();
+					caretPosition = checkpoint.getCaretPosition();
 				}
+				
+			} catch (IOException e) {
+				
+				// a broken checkpoint is replaced, the file is analyzed from its start
+			}
+		}
+		
+		// the tokenizer informs the UI about the process update for the words 
+		// found, the publisher sends out an update every percent or so only
+		// and a snapshot of the results found so far every now and then
+		ProgressPublisher progress = new ProgressPublisher(this, file.getFileLength());
+		progress.setMetaData(metaData);
+		
+		WordTokenizer tokenizer = createTokenizer(metaData);
+		tokenizer.setPendingWord(pendingWord);
+		tokenizer.setProgressPublisher(progress);
 
-				// if we figured out that we have finished one word
-				if (isWordFinisihed) {
-
-					if (bldWord.length() > 0) {
-
-						// we have to store this information in the meta data
-						String newWord = bldWord.toString();
-						
-						WordPosition pos = new WordPosition(caretPosition + i - newWord.length(), newWord);
-						
-						metaData.addWord(newWord, pos);
-
-						// and inform the UI about the process update
-						int percentage = (int) (pos.getEndPosition() * 100 / file.getFileLength());
-						
-						String message = String.format("Wort \"%s\" gefunden",
-								newWord);
-
-						notifyTextProcessStatusUpdate(new TextProcessStatusEvent(
-								this, percentage, message));
-
-						bldWord = new StringBuilder();
-					}
-					
-					// when the word is finished, we have examined a valid punctuation character before
-					// which is the signal to the text processing strategy that the word is finished
-					metaData.addPunctuation(c);
-					
-				} else {
+		long checkpointInterval = AppController.getInstance().getSettings().getCheckpointInterval();
+		long nextCheckpoint = System.currentTimeMillis() + checkpointInterval;
+		
+		while (file.hasNext()) {
 
-					// otherwise we are still in-between the word and have to build it 
-					// char-by-char
-					bldWord.append(c);
-				}
+			// the word that has not been finished yet is left out,
+			// so the partial result only holds complete words
+			if (token.isCancelled()) {
+				
+				if (checkpointFile != null)
+					writeCheckpoint(checkpointFile, file, caretPosition, tokenizer, metaData);
+				
+				metaData.setCancelledPosition(file.getCurrentPosition());
+				file.close();
+				
+				notifyTextProcessStatusFinish(new TextProcessFinishEvent(this,
+						file.getPlainText(), metaData));
+				
+				return metaData;
 			}
 			
+			// we iterate over the file content (which is obviously text based)
+			String filePart = file.next();
+			
+			tokenizer.tokenize(filePart, 0, filePart.length(), caretPosition);
+			
 			caretPosition += filePart.length();
+			
+			if ((checkpointFile != null) && (System.currentTimeMillis() >= nextCheckpoint)) {
+				
+				writeCheckpoint(checkpointFile, file, caretPosition, tokenizer, metaData);
+				nextCheckpoint = System.currentTimeMillis() + checkpointInterval;
+			}
 		}
 
 		// notify that we will have to sort the list of examined words
@@ -138,6 +155,9 @@ public class GenericTextProcessingStrategy implements ITextProcessingStrategy {
 
 		metaData.sortWordsByFrequency();
 
+		if (checkpointFile != null)
+			checkpointFile.delete();
+		
 		// after all the process is finished, so refresh the UI here
 		notifyTextProcessStatusFinish(new TextProcessFinishEvent(this,
 				file.getPlainText(), metaData));
@@ -145,6 +165,34 @@ public class GenericTextProcessingStrategy implements ITextProcessingStrategy {
 		return metaData;
 	}
 
+	/**
+	 * saves the state of the analyzing process to the checkpoint file
+	 * the process goes on if the checkpoint cannot be written
+	 * 
+	 * @param checkpointFile the file the state of the process is saved to
+	 * @param file the file handler that reads the file
+	 * @param caretPosition the position in the text behind the text analyzed so far
+	 * @param tokenizer the tokenizer holding the word that has not been finished yet
+	 * @param metaData the meta data of the text analyzed so far
+	 * @author andreas.gerlach
+	 */
+	private void writeCheckpoint(File checkpointFile, IFileHandler file, long caretPosition,
+			WordTokenizer tokenizer, TextMetaData metaData) {
+		
+		notifyTextProcessStatusUpdate(new TextProcessStatusEvent(this, -1,
+				"Speichere Zwischenstand..."));
+		
+		try {
+			
+			new AnalysisCheckpoint(file.getResumePosition(), caretPosition,
+					tokenizer.getPendingWord(), metaData).write(checkpointFile, this, file);
+			
+		} catch (IOException e) {
+			
+			// the last checkpoint is kept
+		}
+	}
+
 	/**
      * add a new listener to the list of listeners connected to the status update events
      * 
@@ -183,6 +231,18 @@ public class GenericTextProcessingStrategy implements ITextProcessingStrategy {
 		return "Standard Text Analyse";
 	}
 	
+	/**
+	 * creates the tokenizer that splits the text into words and punctuation
+	 * 
+	 * @param metaData the text meta data the words and punctuation are added to
+	 * @return the tokenizer used by this processing strategy
+	 * @author andreas.gerlach
+	 */
+	WordTokenizer createTokenizer(TextMetaData metaData) {
+		
+		return new WordTokenizer(metaData);
+	}
+	
 	/**
 	 * sends out a message to any registered listener for process status updates
 	 * 
@@ -191,10 +251,14 @@ public class GenericTextProcessingStrategy implements ITextProcessingStrategy {
 	 */
 	void notifyTextProcessStatusUpdate(TextProcessStatusEvent evt) {
 
-		for (TextProcessStatusListener l : listeners
-				.getListeners(TextProcessStatusListener.class)) {
+		// walk the internal listener list (pairs of class and listener),
+		// which does not create a copy of the array for each update
+		Object[] lst = listeners.getListenerList();
+		
+		for (int i = 0; i < lst.length; i += 2) {
 
-			l.update(evt);
+			if (lst[i] == TextProcessStatusListener.class)
+				((TextProcessStatusListener) lst[i + 1]).update(evt);
 		}
 	}
 
@@ -3,6 +3,7 @@
  */
 package asta.model;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 
@@ -10,6 +11,9 @@ import javax.swing.filechooser.FileFilter;
 
 /**
  * an interface for handling file access and providing information about the file content
+ * the chunks of the file are handed out by {@link #next()}, an error reading the file
+ * is thrown as {@link java.io.UncheckedIOException} to the caller, so the text is never
+ * truncated silently
  * 
  * @author  andreas.gerlach
  */
@@ -31,12 +35,43 @@ public interface IFileHandler extends Iterator<String> {
      */
     public long getCurrentPosition();
 
+    /**
+     * getter to retrieve the position in the file from which reading can be resumed
+     * to continue exactly behind the text that has been returned so far
+     * (bytes of a character or line ending that has not been returned completely yet
+     * are read once more)
+     * 
+     * @return the position in the file to resume reading from
+     * @author andreas.gerlach
+     */
+    public long getResumePosition();
+
+    /**
+     * continues reading the file at the given position (see {@link #getResumePosition()})
+     * instead of its start, it has to be called before the first chunk is read,
+     * the text before the position is not part of the raw-text of the file's content
+     * 
+     * @param position the position in the file to resume reading from
+     * @author andreas.gerlach
+     */
+    public void resumeAt(long position);
+
     /**
      * getter to retrieve the raw-text of the file's content
      * 
-	 * @return the raw-text of the file's content
+	 * @return the raw-text of the file's content or NULL if the raw-text is not retained
 	 */
-    public StringBuffer getPlainText();
+    public TextStore getPlainText();
+
+    /**
+     * setter to specify whether the raw-text of the file's content is retained
+     * while reading the file, if not the file is only streamed through and
+     * {@link #getPlainText()} will return NULL
+     * 
+     * @param retain TRUE to retain the raw-text (default), FALSE to stream only
+     * @author andreas.gerlach
+     */
+    public void setRetainPlainText(boolean retain);
 
     /**
      * getter to retrieve a file filter object specifying what kind of
@@ -55,6 +90,14 @@ public interface IFileHandler extends Iterator<String> {
 	 */
     public String getFile();
 
+    /**
+     * getter to retrieve the file with its absolute path
+     * 
+	 * @return the file or NULL if no file has been set
+	 * @author andreas.gerlach
+	 */
+    public File getAbsoluteFile();
+
     /**
      * setter to set the file that should be opened and read
      * 
@@ -62,5 +105,13 @@ public interface IFileHandler extends Iterator<String> {
 	 * @author andreas.gerlach
 	 */
     public void setFile(String fileName) throws IOException;
+
+    /**
+     * releases the file before the end-of-file has been reached
+     * (e.g. the analyzing process has been stopped), no further chunks are read
+     * 
+     * @author andreas.gerlach
+     */
+    public void close();
 }
 
@@ -0,0 +1,101 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * an interface specification for the statistic values of a text that has been
+ * examined, no matter whether they have just been gathered by a text processing
+ * strategy or they are loaded from a file the results have been saved to before
+ *
+ * @author andreas.gerlach
+ */
+public interface ITextMetaData {
+
+    /**
+     * getter to retrieve the number of characters in the text
+     *
+     * @return the number of characters in the text
+     * @author andreas.gerlach
+     */
+    public int getNumberOfCharacters();
+
+    /**
+     * getter to retrieve the number of alpha-numerical characters in the text
+     *
+     * @return the number of alpha-numerical characters in the text
+     * @author andreas.gerlach
+     */
+    public int getNumberOfAlphaCharacters();
+
+    /**
+     * getter to retrieve the number of consonants in the text
+     *
+     * @return the number of consonants in the text
+     * @author andreas.gerlach
+     */
+    public int getNumberOfConsonants();
+
+    /**
+     * getter to retrieve the number of punctuation in the text
+     *
+     * @return the number of punctuation in the text
+     * @author andreas.gerlach
+     */
+    public int getNumberOfPunctuation();
+
+    /**
+     * getter to retrieve the number of vowels in the text
+     *
+     * @return the number of vowels in the text
+     * @author andreas.gerlach
+     */
+    public int getNumberOfVowels();
+
+    /**
+     * getter to retrieve the number of words in the text
+     *
+     * @return the number of words in the text
+     * @author andreas.gerlach
+     */
+    public int getNumberOfWords();
+
+    /**
+     * getter to retrieve the list of words by frequency
+     * it will take the list of ignorable words from the global settings into account
+     * and remove those words from the return value
+     *
+     * @return the list of words by frequency reduced by the ignorable words from the settings
+     * @author andreas.gerlach
+     */
+    public String[] getWordsByFrequency();
+
+    /**
+     * getter to retrieve a top n list of words sorted by frequency
+     * it will take the list of ignorable words from the global settings into account
+     *
+     * @param nmbrOfWords the number of words to retrieve from the list of words
+     * @return the list of words sorted by frequency (filled up with NULL if there are
+     * less words in the text)
+     * @author andreas.gerlach
+     */
+    public String[] getTopWordsByFrequency(int nmbrOfWords);
+
+    /**
+     * getter to retrieve the frequency value of a specific word from the text
+     *
+     * @param word the word which frequency is of interest
+     * @return the frequency value of the word
+     * @author andreas.gerlach
+     */
+    public int getFrequencyOfWord(String word);
+
+    /**
+     * getter to retrieve the position of the given word in the text
+     *
+     * @param word the word which positions are of interest
+     * @return an array of the positions of the word in the text used for highlighting it
+     * @author andreas.gerlach
+     */
+    public WordPosition[] getWordPositions(String word);
+}
@@ -23,6 +23,22 @@ public interface ITextProcessingStrategy {
      */
     public TextMetaData parse(IFileHandler file);
     
+    /**
+     * parses a junk of data and informs about
+     * words, punctuation and special keywords found
+     * the token is checked after each chunk of the file, if it has been cancelled
+     * the words found so far are returned as partial result
+     * (see {@link TextMetaData#getCancelledPosition()})
+     * 
+     * @param file a reference to the file handler for accessing the files
+     *              content
+     * @param token the token to stop the parsing in-between
+     *              
+     * @return the text meta information generated
+     * @author andreas.gerlach
+     */
+    public TextMetaData parse(IFileHandler file, CancellationToken token);
+    
     /**
      * add a new listener to the list of listeners connected to the status update events
      * 
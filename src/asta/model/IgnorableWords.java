@@ -0,0 +1,153 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * an immutable snapshot of the black-list of words, each change of the black-list
+ * creates a new snapshot, so threads analyzing a text can keep reading the one
+ * they got while the UI changes the black-list
+ * the changes between two snapshots are found by comparing them, so no log of the
+ * changes has to be kept for the threads that have not caught up yet
+ *
+ * @author andreas.gerlach
+ */
+public class IgnorableWords {
+
+	/**
+	 * the empty black-list
+	 */
+	static final IgnorableWords EMPTY = new IgnorableWords(new LinkedHashSet<String>(), 0);
+
+	/**
+	 * the words on the black-list in the order they have been added
+	 */
+	private Set<String> _words = null;
+
+	/**
+	 * the number of changes of the black-list this snapshot has been taken after
+	 */
+	private int _version = 0;
+
+	/**
+	 * constructs a snapshot of the black-list
+	 *
+	 * @param words the words on the black-list, the set must not be changed anymore
+	 * @param version the number of changes of the black-list so far
+	 * @author andreas.gerlach
+	 */
+	private IgnorableWords(Set<String> words, int version) {
+
+		_words = Collections.unmodifiableSet(words);
+		_version = version;
+	}
+
+	/**
+	 * creates the snapshot with the word given added to the black-list
+	 *
+	 * @param word the word that should be added to the black-list
+	 * @return the new snapshot or this one if the word is on the black-list already (or NULL)
+	 * @author andreas.gerlach
+	 */
+	IgnorableWords add(String word) {
+
+		if ((word == null) || _words.contains(word))
+			return this;
+
+		Set<String> words = new LinkedHashSet<String>(_words);
+
+		words.add(word);
+
+		return new IgnorableWords(words, _version + 1);
+	}
+
+	/**
+	 * creates the snapshot with the word given removed from the black-list
+	 *
+	 * @param word the word that should be removed from the black-list
+	 * @return the new snapshot or this one if the word is not on the black-list
+	 * @author andreas.gerlach
+	 */
+	IgnorableWords remove(String word) {
+
+		if (!_words.contains(word))
+			return this;
+
+		Set<String> words = new LinkedHashSet<String>(_words);
+
+		words.remove(word);
+
+		return new IgnorableWords(words, _version + 1);
+	}
+
+	/**
+	 * checks if the word given is in this snapshot of the black-list
+	 *
+	 * @param word the word that is checked against the black-list
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	public boolean contains(String word) {
+
+		return _words.contains(word);
+	}
+
+	/**
+	 * getter to retrieve the words on the black-list
+	 *
+	 * @return the words on the black-list in the order they have been added
+	 * @author andreas.gerlach
+	 */
+	public String[] toArray() {
+
+		return _words.toArray(new String[0]);
+	}
+
+	/**
+	 * getter to retrieve the number of changes of the black-list this snapshot
+	 * has been taken after
+	 *
+	 * @return the number of words that have been added to or removed from the black-list
+	 * @author andreas.gerlach
+	 */
+	public int getVersion() {
+
+		return _version;
+	}
+
+	/**
+	 * getter to retrieve the words that have been added to or removed from the black-list
+	 * between an older snapshot and this one, use {@link #contains} to check if a word
+	 * is on the black-list now
+	 *
+	 * @param older the snapshot known by the caller
+	 * @return the words that are only in one of both snapshots
+	 * @author andreas.gerlach
+	 */
+	public ArrayList<String> getChangesSince(IgnorableWords older) {
+
+		ArrayList<String> changes = new ArrayList<String>();
+
+		if (older == this)
+			return changes;
+
+		for (String word : _words) {
+
+			if (!older.contains(word))
+				changes.add(word);
+		}
+
+		for (String word : older._words) {
+
+			if (!_words.contains(word))
+				changes.add(word);
+		}
+
+		return changes;
+	}
+}
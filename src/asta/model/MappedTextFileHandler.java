@@ -0,0 +1,166 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import javax.swing.filechooser.FileFilter;
+
+/**
+ * a file handler implementation to open and read plain text files
+ * by mapping them into memory
+ * the file is opened only once and walked through in windows of 16mb that are
+ * mapped via a single file channel, the chunks handed out are slices of the
+ * current window, so neither a re-open and skip nor a copy is needed per chunk
+ *
+ * @author andreas.gerlach
+ */
+public class MappedTextFileHandler extends PlainTextFileHandler {
+
+	/**
+	 * the size of the window that is mapped into memory at once (16mb)
+	 */
+	private static final long WINDOW_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * the channel to the file that has been opened for reading
+	 */
+	private FileChannel _channel = null;
+
+	/**
+	 * the currently mapped window of the file
+	 */
+	private MappedByteBuffer _window = null;
+
+	/**
+	 * the position in the file where the currently mapped window starts
+	 */
+	private long _windowPos = 0;
+
+	/**
+     * getter to retrieve a file filter object specifying what kind of
+     * files this file handler is capable to open and understand
+     *
+	 * @return the file filter object with the supported file types
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public FileFilter getFileFilter() {
+
+		return new FileFilter() {
+
+			/**
+			 * getter to retrieve the description shown in the file selector
+			 *
+			 * @return the description shown in the file selector
+			 * @author andreas.gerlach
+			 */
+			@Override
+			public String getDescription() {
+
+				return "unformatierter Text";
+			}
+
+			/**
+			 * check if the file is acceptable and understood by this file handler
+			 *
+			 * @param f the file in question
+			 * @return TRUE/FALSE
+			 * @author andreas.gerlach
+			 */
+			@Override
+			public boolean accept(File f) {
+
+				if (f.isDirectory())
+					return true;
+
+				return f.getName().toLowerCase().endsWith(".txt");
+			}
+		};
+	}
+
+	/**
+	 * releases the file channel and the mapped window before the end-of-file has been reached
+	 *
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public void close() {
+
+		try {
+
+			if (_channel != null)
+				_channel.close();
+
+		} catch (IOException e) {
+
+			// the channel is given up anyway
+
+		} finally {
+
+			_channel = null;
+			_window = null;
+		}
+	}
+
+	/**
+	 * reads the chunk starting at the given position as a slice of the mapped window
+	 * if the chunk is not covered by the current window the next window is mapped,
+	 * after the last chunk has been handed out the file channel is closed
+	 *
+	 * @param file the file to read from
+	 * @param position the position in the file where the chunk starts
+	 * @param length the maximum number of bytes to read
+	 * @return a buffer holding the bytes of the chunk between its position and limit
+	 * @throws IOException if the file could not be mapped
+	 * @author andreas.gerlach
+	 */
+	@Override
+	protected ByteBuffer readChunk(File file, long position, int length) throws IOException {
+
+		if (_channel == null)
+			_channel = new RandomAccessFile(file, "r").getChannel();
+
+		long fileSize = _channel.size();
+		int chunkLength = (int) Math.min(length, Math.max(fileSize - position, 0));
+
+		// the file has shrunk behind the position, so there is nothing left to map
+		if (chunkLength <= 0) {
+
+			_channel.close();
+			_channel = null;
+			_window = null;
+
+			return ByteBuffer.allocate(0);
+		}
+
+		// map the next window if the chunk is not covered by the current one
+		if ((_window == null) || (position < _windowPos)
+				|| (position + chunkLength > _windowPos + _window.capacity())) {
+
+			_windowPos = position;
+			_window = _channel.map(FileChannel.MapMode.READ_ONLY, position,
+					Math.min(Math.max(WINDOW_SIZE, length), fileSize - position));
+		}
+
+		ByteBuffer chunk = _window.duplicate();
+		chunk.position((int) (position - _windowPos));
+		chunk.limit(chunk.position() + chunkLength);
+
+		// the last chunk has been reached, so release the file
+		if (position + chunkLength >= fileSize) {
+
+			_channel.close();
+			_channel = null;
+			_window = null;
+		}
+
+		return chunk;
+	}
+}
@@ -0,0 +1,606 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+
+import asta.controller.AppController;
+
+/**
+ * the text meta data of a text that has been saved to a file before
+ * the file is mapped into memory and read in place: opening it only checks the
+ * header, the words, frequencies and positions are looked up in the file when
+ * they are requested, so even the result of a huge text is available at once
+ *
+ * the file is written sequentially (see {@link #write}) and consists of
+ * (all values in big-endian byte order):
+ * <ul>
+ * <li>the header: magic number, format version, the six counters (words, chars,
+ * alpha-chars, vowels, consonants, punctuation), the number of words and hash slots
+ * and the file positions of the following sections</li>
+ * <li>the hash slots: term id + 1 of the word in the slot (0 for free slots),
+ * the words are found by linear probing like in the word table</li>
+ * <li>the terms: hash code, frequency, file position and length of the word,
+ * file position and length of its positions for each term id</li>
+ * <li>the words: the characters of the words (UTF-16)</li>
+ * <li>the positions: the compressed positions of the words
+ * (see {@link Postings})</li>
+ * <li>the ranking: the term ids ordered by the frequency of the words</li>
+ * </ul>
+ *
+ * @author andreas.gerlach
+ */
+public class MappedTextMetaData implements ITextMetaData {
+
+	/**
+	 * the magic number at the start of the file ("ASTA")
+	 */
+	private static final int MAGIC = 0x41535441;
+
+	/**
+	 * the version of the file format
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * the size of the header (in bytes)
+	 */
+	private static final int HEADER_SIZE = 80;
+
+	/**
+	 * the size of the record of a term (in bytes)
+	 */
+	private static final int TERM_SIZE = 32;
+
+	/**
+	 * the number of bits of the position in a mapped segment of the file
+	 * (a mapped buffer cannot be larger than 2 GB)
+	 */
+	private static final int SEGMENT_BITS = 30;
+
+	/**
+	 * the mask to get the position in a mapped segment of the file
+	 */
+	private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+	/**
+	 * the number of bytes a segment overlaps the next one,
+	 * so a single value can always be read from one segment
+	 */
+	private static final int SEGMENT_OVERLAP = 8;
+
+	/**
+	 * the file the text meta data is read from
+	 */
+	private File _file = null;
+
+	/**
+	 * the mapped segments of the file
+	 */
+	private MappedByteBuffer[] _segments = null;
+
+	/**
+	 * the counters of the text (words, chars, alpha-chars, vowels, consonants, punctuation)
+	 */
+	private int[] _counters = new int[6];
+
+	/**
+	 * the number of distinct words
+	 */
+	private int _nmbrOfTerms = 0;
+
+	/**
+	 * the number of hash slots (a power of two)
+	 */
+	private int _nmbrOfSlots = 0;
+
+	/**
+	 * the file position of the hash slots
+	 */
+	private long _slotsPosition = 0;
+
+	/**
+	 * the file position of the terms
+	 */
+	private long _termsPosition = 0;
+
+	/**
+	 * the file position of the ranking
+	 */
+	private long _rankingPosition = 0;
+
+	/**
+	 * opens the file of the text meta data saved before
+	 *
+	 * @param file the file holding the text meta data
+	 * @throws IOException if the file cannot be read or is not a text meta data file
+	 * of a known version
+	 * @author andreas.gerlach
+	 */
+	public MappedTextMetaData(File file) throws IOException {
+
+		_file = file;
+
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		long length = 0;
+
+		try {
+
+			FileChannel channel = raf.getChannel();
+			length = channel.size();
+
+			if (length < HEADER_SIZE)
+				throw new IOException("File is no text meta data file!");
+
+			// the mapping stays valid after the channel has been closed
+			_segments = new MappedByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS)];
+
+			for (int i = 0; i < _segments.length; ++i) {
+
+				long start = (long) i << SEGMENT_BITS;
+
+				_segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+						Math.min(SEGMENT_MASK + 1 + SEGMENT_OVERLAP, length - start));
+			}
+
+		} finally {
+
+			raf.close();
+		}
+
+		if (getInt(0) != MAGIC)
+			throw new IOException("File is no text meta data file!");
+
+		if (getInt(4) != VERSION)
+			throw new IOException("Version " + getInt(4) + " of the text meta data file is not supported!");
+
+		for (int i = 0; i < _counters.length; ++i)
+			_counters[i] = getInt(8 + 4 * i);
+
+		_nmbrOfTerms = getInt(32);
+		_nmbrOfSlots = getInt(36);
+		_slotsPosition = getLong(40);
+		_termsPosition = getLong(48);
+		_rankingPosition = getLong(72);
+
+		long wordsPosition = getLong(56);
+		long postingsPosition = getLong(64);
+
+		// the sections have to follow each other within the file, so a damaged file
+		// is rejected here instead of failing later on when a word is looked up
+		if ((_nmbrOfTerms < 0)
+				|| (_nmbrOfSlots <= _nmbrOfTerms)
+				|| (Integer.bitCount(_nmbrOfSlots) != 1)
+				|| (_slotsPosition != HEADER_SIZE)
+				|| (_termsPosition != _slotsPosition + 4L * _nmbrOfSlots)
+				|| (wordsPosition != _termsPosition + (long) TERM_SIZE * _nmbrOfTerms)
+				|| (postingsPosition < wordsPosition)
+				|| (_rankingPosition < postingsPosition)
+				|| (_rankingPosition + 4L * _nmbrOfTerms != length))
+			throw new IOException("Text meta data file is damaged!");
+	}
+
+	/**
+	 * writes the text meta data to a file that can be opened by this class afterwards
+	 * the file is written sequentially
+	 *
+	 * @param data the text meta data to write
+	 * @param file the file to write to
+	 * @throws IOException if the file cannot be written
+	 * @author andreas.gerlach
+	 */
+	public static void write(TextMetaData data, File file) throws IOException {
+
+		WordTable table = data.getWordTable();
+		Postings postings = data.getPostings();
+		int nmbrOfTerms = table.size();
+
+		// the slots are filled like the ones of the word table
+		int nmbrOfSlots = 16;
+
+		while (nmbrOfSlots < nmbrOfTerms * 2)
+			nmbrOfSlots *= 2;
+
+		int[] slots = new int[nmbrOfSlots];
+
+		for (int termId = 0; termId < nmbrOfTerms; ++termId) {
+
+			int slot = WordTable.spread(table.getWord(termId).hashCode()) & (nmbrOfSlots - 1);
+
+			while (slots[slot] != 0)
+				slot = (slot + 1) & (nmbrOfSlots - 1);
+
+			slots[slot] = termId + 1;
+		}
+
+		// the sizes of all sections are known in advance
+		long slotsPosition = HEADER_SIZE;
+		long termsPosition = slotsPosition + 4L * nmbrOfSlots;
+		long wordsPosition = termsPosition + (long) TERM_SIZE * nmbrOfTerms;
+		long postingsPosition = wordsPosition;
+
+		for (int termId = 0; termId < nmbrOfTerms; ++termId)
+			postingsPosition += 2L * table.getWord(termId).length();
+
+		long rankingPosition = postingsPosition;
+
+		for (int termId = 0; termId < nmbrOfTerms; ++termId)
+			rankingPosition += postings.getLength(table.getPostings(termId));
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file), 64 * 1024));
+
+		try {
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(data.getNumberOfWords());
+			out.writeInt(data.getNumberOfCharacters());
+			out.writeInt(data.getNumberOfAlphaCharacters());
+			out.writeInt(data.getNumberOfVowels());
+			out.writeInt(data.getNumberOfConsonants());
+			out.writeInt(data.getNumberOfPunctuation());
+			out.writeInt(nmbrOfTerms);
+			out.writeInt(nmbrOfSlots);
+			out.writeLong(slotsPosition);
+			out.writeLong(termsPosition);
+			out.writeLong(wordsPosition);
+			out.writeLong(postingsPosition);
+			out.writeLong(rankingPosition);
+
+			for (int slot : slots)
+				out.writeInt(slot);
+
+			long wordPosition = wordsPosition;
+			long postingPosition = postingsPosition;
+
+			for (int termId = 0; termId < nmbrOfTerms; ++termId) {
+
+				String word = table.getWord(termId);
+				int postingLength = postings.getLength(table.getPostings(termId));
+
+				out.writeInt(word.hashCode());
+				out.writeInt(table.getCount(termId));
+				out.writeLong(wordPosition);
+				out.writeInt(word.length());
+				out.writeInt(postingLength);
+				out.writeLong(postingPosition);
+
+				wordPosition += 2L * word.length();
+				postingPosition += postingLength;
+			}
+
+			for (int termId = 0; termId < nmbrOfTerms; ++termId)
+				out.writeChars(table.getWord(termId));
+
+			for (int termId = 0; termId < nmbrOfTerms; ++termId)
+				postings.writeTo(table.getPostings(termId), out);
+
+			for (int termId : WordRanking.rank(table))
+				out.writeInt(termId);
+
+		} finally {
+
+			out.close();
+		}
+	}
+
+	/**
+	 * getter to retrieve the file the text meta data is read from
+	 *
+	 * @return the file holding the text meta data
+	 * @author andreas.gerlach
+	 */
+	public File getFile() {
+
+		return _file;
+	}
+
+	/**
+	 * getter to retrieve the number of characters in the text
+	 *
+	 * @return the number of characters in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfCharacters() {
+
+		return _counters[1];
+	}
+
+	/**
+	 * getter to retrieve the number of alpha-numerical characters in the text
+	 *
+	 * @return the number of alpha-numerical characters in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfAlphaCharacters() {
+
+		return _counters[2];
+	}
+
+	/**
+	 * getter to retrieve the number of consonants in the text
+	 *
+	 * @return the number of consonants in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfConsonants() {
+
+		return _counters[4];
+	}
+
+	/**
+	 * getter to retrieve the number of punctuation in the text
+	 *
+	 * @return the number of punctuation in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfPunctuation() {
+
+		return _counters[5];
+	}
+
+	/**
+	 * getter to retrieve the number of vowels in the text
+	 *
+	 * @return the number of vowels in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfVowels() {
+
+		return _counters[3];
+	}
+
+	/**
+	 * getter to retrieve the number of words in the text
+	 *
+	 * @return the number of words in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfWords() {
+
+		return _counters[0];
+	}
+
+	/**
+	 * getter to retrieve the list of words by frequency
+	 * it will take the list of ignorable words from the global settings into account
+	 * and remove those words from the return value
+	 *
+	 * @return the list of words by frequency reduced by the ignorable words from the settings
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String[] getWordsByFrequency() {
+
+		return getRankedWords(_nmbrOfTerms).toArray(new String[0]);
+	}
+
+	/**
+	 * getter to retrieve a top n list of words sorted by frequency
+	 * it will take the list of ignorable words from the global settings into account
+	 *
+	 * @param nmbrOfWords the number of words to retrieve from the list of words
+	 * @return the list of words sorted by frequency (filled up with NULL if there are
+	 * less words in the text)
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String[] getTopWordsByFrequency(int nmbrOfWords) {
+
+		return getRankedWords(nmbrOfWords).toArray(new String[nmbrOfWords]);
+	}
+
+	/**
+	 * getter to retrieve the frequency value of a specific word from the text
+	 *
+	 * @param word the word which frequency is of interest
+	 * @return the frequency value of the word
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getFrequencyOfWord(String word) {
+
+		long term = findTerm(word);
+
+		return (term < 0) ? 0 : getInt(term + 4);
+	}
+
+	/**
+	 * getter to retrieve the position of the given word in the text
+	 * the positions are decoded from the file
+	 *
+	 * @param word the word which positions are of interest
+	 * @return an array of the positions of the word in the text used for highlighting it
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public WordPosition[] getWordPositions(String word) {
+
+		long term = findTerm(word);
+
+		if (term < 0)
+			return new WordPosition[0];
+
+		WordPosition[] positions = new WordPosition[getInt(term + 4)];
+		long offset = getLong(term + 24);
+		long position = 0;
+
+		for (int i = 0; i < positions.length; ++i) {
+
+			long distance = 0;
+
+			for (int shift = 0;; shift += 7) {
+
+				byte b = getByte(offset++);
+				distance |= (long) (b & 0x7F) << shift;
+
+				if (b >= 0)
+					break;
+			}
+
+			position += distance;
+			positions[i] = new WordPosition(position, word);
+		}
+
+		return positions;
+	}
+
+	/**
+	 * getter to retrieve the words from the start of the ranking
+	 * that are not ignored by the settings
+	 *
+	 * @param nmbrOfWords the maximum number of words
+	 * @return the words ordered by their frequency
+	 * @author andreas.gerlach
+	 */
+	private ArrayList<String> getRankedWords(int nmbrOfWords) {
+
+		Settings settings = AppController.getInstance().getSettings();
+		ArrayList<String> words = new ArrayList<String>(Math.min(nmbrOfWords, _nmbrOfTerms));
+
+		for (int rank = 0; (rank < _nmbrOfTerms) && (words.size() < nmbrOfWords); ++rank) {
+
+			String word = getWord(_termsPosition + (long) TERM_SIZE * getInt(_rankingPosition + 4L * rank));
+
+			if (!settings.shouldIgnoreWord(word))
+				words.add(word);
+		}
+
+		return words;
+	}
+
+	/**
+	 * looks up the record of a word in the hash slots
+	 *
+	 * @param word the word to look up
+	 * @return the file position of the term record of the word or -1 if the word is unknown
+	 * @author andreas.gerlach
+	 */
+	private long findTerm(String word) {
+
+		if ((word == null) || (_nmbrOfTerms == 0))
+			return -1;
+
+		int hash = word.hashCode();
+		int mask = _nmbrOfSlots - 1;
+
+		for (int slot = WordTable.spread(hash) & mask;; slot = (slot + 1) & mask) {
+
+			int termId = getInt(_slotsPosition + 4L * slot) - 1;
+
+			if (termId < 0)
+				return -1;
+
+			long term = _termsPosition + (long) TERM_SIZE * termId;
+
+			if ((getInt(term) == hash) && matches(term, word))
+				return term;
+		}
+	}
+
+	/**
+	 * compares the word of a term record with the word given
+	 *
+	 * @param term the file position of the term record
+	 * @param word the word to compare
+	 * @return TRUE if the term is the word given
+	 * @author andreas.gerlach
+	 */
+	private boolean matches(long term, String word) {
+
+		if (getInt(term + 16) != word.length())
+			return false;
+
+		long position = getLong(term + 8);
+
+		for (int i = 0; i < word.length(); ++i) {
+
+			if (getChar(position + 2L * i) != word.charAt(i))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * reads the word of a term record
+	 *
+	 * @param term the file position of the term record
+	 * @return the word
+	 * @author andreas.gerlach
+	 */
+	private String getWord(long term) {
+
+		char[] chars = new char[getInt(term + 16)];
+		long position = getLong(term + 8);
+
+		for (int i = 0; i < chars.length; ++i)
+			chars[i] = getChar(position + 2L * i);
+
+		return new String(chars);
+	}
+
+	/**
+	 * reads a byte from the file
+	 *
+	 * @param position the position in the file
+	 * @return the value read
+	 * @author andreas.gerlach
+	 */
+	private byte getByte(long position) {
+
+		return _segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+	}
+
+	/**
+	 * reads a character from the file
+	 *
+	 * @param position the position in the file
+	 * @return the value read
+	 * @author andreas.gerlach
+	 */
+	private char getChar(long position) {
+
+		return _segments[(int) (position >>> SEGMENT_BITS)].getChar((int) (position & SEGMENT_MASK));
+	}
+
+	/**
+	 * reads an integer from the file
+	 *
+	 * @param position the position in the file
+	 * @return the value read
+	 * @author andreas.gerlach
+	 */
+	private int getInt(long position) {
+
+		return _segments[(int) (position >>> SEGMENT_BITS)].getInt((int) (position & SEGMENT_MASK));
+	}
+
+	/**
+	 * reads a long integer from the file
+	 *
+	 * @param position the position in the file
+	 * @return the value read
+	 * @author andreas.gerlach
+	 */
+	private long getLong(long position) {
+
+		return _segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+	}
+}
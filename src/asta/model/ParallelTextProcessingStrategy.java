@@ -0,0 +1,513 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import asta.controller.AnalysisScheduler;
+import asta.controller.AppController;
+
+/**
+ * a text processing strategy that evaluates plain text like the generic one
+ * but analyzes the text on several processors
+ * the text is split into segments at word boundaries while it is read, each segment
+ * is tokenized on a pool of threads as soon as it is complete and the meta data of
+ * the segments is merged in order, so the result equals the one of the generic text
+ * processing strategy
+ * only a limited number of segments is read ahead of the merged ones, so reading
+ * overlaps with tokenizing and the text is not kept in memory as a whole
+ *
+ * @author andreas.gerlach
+ */
+public class ParallelTextProcessingStrategy extends GenericTextProcessingStrategy {
+
+	/**
+	 * the number of segments per thread that are read ahead of the merged ones
+	 * (more segments than threads balance differently fast segments)
+	 */
+	private static final int SEGMENTS_PER_THREAD = 4;
+
+	/**
+	 * the maximum length of a segment (in characters)
+	 */
+	private static final long MAX_SEGMENT_LENGTH = 1024 * 1024;
+
+	/**
+	 * the pool the segments are tokenized on (NULL to use the one of the analyzing processes)
+	 */
+	private Executor _pool = null;
+
+	/**
+	 * constructs a new strategy tokenizing the segments on the pool the analyzing processes
+	 * of the application are run on (see {@link AnalysisScheduler#getPartExecutor()}), so
+	 * the analyses and their segments stay within the maximum number of analyzing threads
+	 * from the settings together (see {@link Settings#getMaxAnalysisThreads()})
+	 *
+	 * @author andreas.gerlach
+	 */
+	public ParallelTextProcessingStrategy() {
+	}
+
+	/**
+	 * constructs a new strategy tokenizing the segments on the pool given
+	 *
+	 * @param pool the pool the segments are tokenized on
+	 * @author andreas.gerlach
+	 */
+	public ParallelTextProcessingStrategy(Executor pool) {
+
+		_pool = pool;
+	}
+
+	/**
+	 * analyze the file content and prepares the text meta data information
+	 * based on the words, characters and punctuation found in the file
+	 * the token is checked before each chunk of the file and by the segment tasks,
+	 * if it has been cancelled no further chunk is read and the segments that have
+	 * not been finished are tokenized on the calling thread, so the partial result
+	 * holds the words of all the text read like the one of the generic strategy
+	 *
+	 * @param file the file handler that knows how to read the file
+	 * @param token the token to stop the analyzing in-between
+	 * @return the file meta information like number of words, chars etc.
+	 *
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public TextMetaData parse(IFileHandler file, CancellationToken token) {
+
+		Executor pool = (_pool != null) ? _pool : AppController.getInstance().getScheduler().getPartExecutor();
+		int nmbrOfThreads = Math.max(AppController.getInstance().getSettings().getMaxAnalysisThreads(), 1);
+		int maxSegmentsAhead = nmbrOfThreads * SEGMENTS_PER_THREAD;
+		long segmentLength = Math.max(1, Math.min(file.getFileLength() / maxSegmentsAhead, MAX_SEGMENT_LENGTH));
+
+		// the segments that have been submitted and not been merged yet
+		ArrayDeque<SegmentTask> tasks = new ArrayDeque<SegmentTask>();
+		TextMetaData metaData = new TextMetaData();
+		ProgressPublisher progress = new ProgressPublisher(this, file.getFileLength());
+
+		SegmentTask segment = new SegmentTask(token, file.getCurrentPosition());
+		long caretPosition = 0;
+		boolean cancelled = false;
+
+		try {
+
+			while (file.hasNext()) {
+
+				if (token.isCancelled()) {
+
+					cancelled = true;
+					break;
+				}
+
+				long filePosition = file.getCurrentPosition();
+				String filePart = file.next();
+
+				// a segment that is long enough ends at the first punctuation of the next chunk,
+				// so no word is spread over two segments
+				int split = (segment.getLength() >= segmentLength) ? findSplit(filePart) : -1;
+
+				if (split >= 0) {
+
+					segment.addChunk(filePart, caretPosition, split, file.getCurrentPosition());
+					segment.submit(pool);
+					tasks.add(segment);
+
+					segment = new SegmentTask(token, filePosition);
+				}
+
+				segment.addChunk(filePart, caretPosition, Math.max(split, 0), filePart.length(),
+						file.getCurrentPosition());
+				caretPosition += filePart.length();
+
+				// merge the oldest segments, so only a limited number is kept in memory
+				while (tasks.size() > maxSegmentsAhead)
+					merge(metaData, tasks.poll(), progress);
+			}
+
+			// the last segment is tokenized while merging if the analysis has been cancelled
+			if (!cancelled)
+				segment.submit(pool);
+
+			tasks.add(segment);
+
+			while (!tasks.isEmpty())
+				merge(metaData, tasks.poll(), progress);
+
+		} finally {
+
+			// the segments are not needed any longer if the analysis has stopped
+			for (SegmentTask task : tasks)
+				task.cancel();
+		}
+
+		// the word that has not been finished yet is left out,
+		// so the partial result only holds complete words
+		if (cancelled) {
+
+			metaData.setCancelledPosition(file.getCurrentPosition());
+			file.close();
+
+			notifyTextProcessStatusFinish(new TextProcessFinishEvent(this,
+					file.getPlainText(), metaData));
+
+			return metaData;
+		}
+
+		// notify that we will have to sort the list of examined words
+		// based on their frequency, which might take a while
+		notifyTextProcessStatusUpdate(new TextProcessStatusEvent(this, -1,
+				"Sortiere Wortliste..."));
+
+		metaData.sortWordsByFrequency();
+
+		// after all the process is finished, so refresh the UI here
+		notifyTextProcessStatusFinish(new TextProcessFinishEvent(this,
+				file.getPlainText(), metaData));
+
+		return metaData;
+	}
+
+	/**
+	 * waits for a segment and merges its meta data, a segment that has not been finished
+	 * as the analysis has been cancelled is tokenized to its end on the calling thread
+	 *
+	 * @param metaData the meta data of the segments merged so far
+	 * @param task the next segment in the order of the text
+	 * @param progress the publisher informed about the segments merged
+	 * @author andreas.gerlach
+	 */
+	private void merge(TextMetaData metaData, SegmentTask task, ProgressPublisher progress) {
+
+		TextMetaData segment = task.join();
+
+		if (segment == null)
+			segment = task.complete();
+
+		metaData.merge(segment, 0);
+
+		progress.progress(task.getEndFilePosition(), "Abschnitt bis Byte %d analysiert",
+				task.getEndFilePosition());
+	}
+
+	/**
+	 * overridden toString representation of the object
+	 * this is used in the UI to fill the combo-box of available processing strategies
+	 * the operator can choose from
+	 *
+	 * @return the meaningful name of this processing strategy
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String toString() {
+
+		return "Parallele Text Analyse";
+	}
+
+	/**
+	 * finds the position in the chunk a new segment can start at
+	 *
+	 * @param chunk the chunk of text
+	 * @return the position of the first punctuation finishing a word or -1 if there is none
+	 * @author andreas.gerlach
+	 */
+	static int findSplit(String chunk) {
+
+		for (int i = 0; i < chunk.length(); ++i) {
+
+			if (WordTokenizer.isWordFinished(chunk, i))
+				return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * the task tokenizing a single segment of the text into its own meta data
+	 * the chunks of the segment are added while the file is read, the task is
+	 * submitted to the pool when the segment is complete
+	 * a task stopped by the token keeps the chunks tokenized so far, so it can be
+	 * completed on another thread (see {@link #complete()})
+	 *
+	 * @author andreas.gerlach
+	 */
+	static class SegmentTask implements Callable<TextMetaData> {
+
+		/**
+		 * the chunks of the segment
+		 */
+		private ArrayList<String> _chunks = new ArrayList<String>();
+
+		/**
+		 * the positions of the chunks in the text
+		 */
+		private ArrayList<Long> _caretPositions = new ArrayList<Long>();
+
+		/**
+		 * the position in the first chunk the segment starts at
+		 */
+		private int _start = 0;
+
+		/**
+		 * the position in the last chunk the segment ends at (exclusive)
+		 */
+		private int _end = 0;
+
+		/**
+		 * whether the segment is followed by another one starting with a punctuation
+		 */
+		private boolean _followed = false;
+
+		/**
+		 * the number of characters in the segment
+		 */
+		private long _length = 0;
+
+		/**
+		 * the position in the file behind the last chunk of the segment
+		 */
+		private long _endFilePosition = 0;
+
+		/**
+		 * the token to stop the tokenizing in-between
+		 */
+		private CancellationToken _token = null;
+
+		/**
+		 * the result of the task (NULL until it has been submitted)
+		 */
+		private FutureTask<TextMetaData> _future = null;
+
+		/**
+		 * the meta data of the chunks tokenized so far (NULL until the tokenizing is started)
+		 */
+		private TextMetaData _metaData = null;
+
+		/**
+		 * the tokenizer holding the word that has not been finished at the end of
+		 * the chunks tokenized so far
+		 */
+		private WordTokenizer _tokenizer = null;
+
+		/**
+		 * the index of the next chunk to tokenize
+		 */
+		private int _nextChunk = 0;
+
+		/**
+		 * constructs a new task for a segment starting in the chunk at the file position given
+		 *
+		 * @param token the token to stop the tokenizing in-between
+		 * @param filePosition the position in the file of the chunk the segment starts in
+		 * @author andreas.gerlach
+		 */
+		SegmentTask(CancellationToken token, long filePosition) {
+
+			_token = token;
+			_endFilePosition = filePosition;
+		}
+
+		/**
+		 * adds a part of a chunk to the segment
+		 *
+		 * @param chunk the chunk of text
+		 * @param caretPosition the position of the chunk in the text
+		 * @param from the position in the chunk the part starts at
+		 * @param to the position in the chunk the part ends at (exclusive)
+		 * @param endFilePosition the position in the file behind the chunk
+		 * @author andreas.gerlach
+		 */
+		void addChunk(String chunk, long caretPosition, int from, int to, long endFilePosition) {
+
+			if (_chunks.isEmpty())
+				_start = from;
+
+			_chunks.add(chunk);
+			_caretPositions.add(caretPosition);
+			_end = to;
+			_length += to - from;
+			_endFilePosition = endFilePosition;
+		}
+
+		/**
+		 * adds the last part of a segment that is followed by another one, the
+		 * following segment starts with the punctuation at the end position
+		 *
+		 * @param chunk the chunk of text
+		 * @param caretPosition the position of the chunk in the text
+		 * @param end the position in the chunk the following segment starts at
+		 * @param endFilePosition the position in the file behind the chunk
+		 * @author andreas.gerlach
+		 */
+		void addChunk(String chunk, long caretPosition, int end, long endFilePosition) {
+
+			addChunk(chunk, caretPosition, 0, end, endFilePosition);
+
+			_followed = true;
+		}
+
+		/**
+		 * getter to retrieve the number of characters in the segment
+		 *
+		 * @return the number of characters
+		 * @author andreas.gerlach
+		 */
+		long getLength() {
+
+			return _length;
+		}
+
+		/**
+		 * getter to retrieve the position in the file behind the last chunk of the segment
+		 *
+		 * @return the position in the file
+		 * @author andreas.gerlach
+		 */
+		long getEndFilePosition() {
+
+			return _endFilePosition;
+		}
+
+		/**
+		 * submits the complete segment to the pool
+		 *
+		 * @param pool the pool the segment is tokenized on
+		 * @author andreas.gerlach
+		 */
+		void submit(Executor pool) {
+
+			_future = new FutureTask<TextMetaData>(this);
+
+			pool.execute(_future);
+		}
+
+		/**
+		 * waits for the segment to be tokenized, a segment that has not been started
+		 * by the pool yet is tokenized on the calling thread instead, the pool might be
+		 * busy with the analyses waiting for their segments
+		 *
+		 * @return the meta data of the segment or NULL if the tokenizing has been cancelled
+		 * (or the task has not been submitted)
+		 * @author andreas.gerlach
+		 */
+		TextMetaData join() {
+
+			if (_future == null)
+				return null;
+
+			try {
+
+				// does nothing if the pool has started the task already
+				_future.run();
+
+				return _future.get();
+
+			} catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+				return null;
+
+			} catch (CancellationException e) {
+
+				// removed from the pool before it has been started
+				return null;
+
+			} catch (ExecutionException e) {
+
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		/**
+		 * keeps the pool from starting the segment if it has not been started yet
+		 *
+		 * @author andreas.gerlach
+		 */
+		void cancel() {
+
+			if (_future != null)
+				_future.cancel(false);
+		}
+
+		/**
+		 * tokenizes the segment
+		 *
+		 * @return the meta data of the segment or NULL if the tokenizing has been cancelled
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public TextMetaData call() {
+
+			return tokenize(true);
+		}
+
+		/**
+		 * tokenizes the rest of a segment that has not been finished as the analysis
+		 * has been cancelled, a task waiting in the pool is not started by it anymore
+		 * and a task running on the pool is waited for
+		 *
+		 * @return the meta data of the segment
+		 * @author andreas.gerlach
+		 */
+		TextMetaData complete() {
+
+			cancel();
+
+			return tokenize(false);
+		}
+
+		/**
+		 * tokenizes the chunks of the segment that have not been tokenized yet
+		 *
+		 * @param cancellable TRUE to stop at the next chunk if the token has been cancelled
+		 * @return the meta data of the segment or NULL if the tokenizing has been cancelled
+		 * @author andreas.gerlach
+		 */
+		private synchronized TextMetaData tokenize(boolean cancellable) {
+
+			// the segment has been completed already
+			if (_chunks == null)
+				return _metaData;
+
+			if (_metaData == null) {
+
+				_metaData = new TextMetaData();
+				_tokenizer = new WordTokenizer(_metaData);
+			}
+
+			int lastChunk = _chunks.size() - 1;
+
+			for (; _nextChunk <= lastChunk; ++_nextChunk) {
+
+				if (cancellable && _token.isCancelled())
+					return null;
+
+				String chunk = _chunks.get(_nextChunk);
+
+				int from = (_nextChunk == 0) ? _start : 0;
+				int to = (_nextChunk == lastChunk) ? _end : chunk.length();
+
+				_tokenizer.tokenize(chunk, from, to, _caretPositions.get(_nextChunk));
+			}
+
+			// the last word is finished by the punctuation starting the following segment
+			if (_followed)
+				_tokenizer.finishWord(_caretPositions.get(lastChunk) + _end);
+
+			// the text of the segment is not needed any longer
+			_chunks = null;
+
+			return _metaData;
+		}
+	}
+}
@@ -7,6 +7,8 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import javax.swing.filechooser.FileFilter;
@@ -32,24 +34,34 @@ public class PlainTextFileHandler implements IFileHandler {
 	private long _filePos = 0;
 
 	/**
-	 * a buffer containing the file content that has been read so far
+	 * a store containing the file content that has been read so far
 	 */
-	private StringBuffer _fileContent = null;
+	private TextStore _fileContent = null;
 
 	/**
-	 * line endings used by the windows operating system
+	 * whether the file content that has been read should be retained in the buffer
 	 */
-	private final String WINLINE_ENDINGS = new String("\r\n");
-	
-	/**
-	 * line endings used by the *nix operating systems
-	 */
-	private final String UNIXLINE_ENDINGS = new String("\n");
+	private boolean _retainContent = true;
 
 	/**
 	 * the charset of the file that should be used (by default: UTF8)
 	 */
 	private Charset _fileCharset = null;
+
+	/**
+	 * the decoder converting the chunks of the file into text
+	 */
+	private TextChunkDecoder _decoder = null;
+
+	/**
+	 * the size of the chunks the file content is loaded in
+	 */
+	private int _chunkSize = 64 * 1024;
+
+	/**
+	 * whether the file is followed while it is appended to
+	 */
+	private boolean _follow = false;
 	
 	/**
      * getter to retrieve the length of the file
@@ -76,12 +88,46 @@ public class PlainTextFileHandler implements IFileHandler {
 		return _filePos;
 	}
 
+	/**
+     * getter to retrieve the position in the file from which reading can be resumed
+     * to continue exactly behind the text that has been returned so far
+     * (bytes of a character or line ending that has not been returned completely yet
+     * are read once more)
+     * 
+     * @return the position in the file to resume reading from
+     * @author andreas.gerlach
+     */
+	public long getResumePosition() {
+
+		if (_decoder == null)
+			return _filePos;
+
+		// a carriage return is a single byte in the charset of the file
+		return _filePos - _decoder.getCarriedBytes() - (_decoder.hasPendingCR() ? 1 : 0);
+	}
+
+	/**
+     * continues reading the file at the given position (see {@link #getResumePosition()})
+     * instead of its start, it has to be called before the first chunk is read,
+     * the text before the position is not part of the raw-text of the file's content
+     * 
+     * @param position the position in the file to resume reading from
+     * @author andreas.gerlach
+     */
+	public void resumeAt(long position) {
+
+		if (_filePos != 0)
+			throw new IllegalStateException("File has been read already!");
+
+		_filePos = position;
+	}
+
 	/**
      * getter to retrieve the raw-text of the file's content
      * 
-	 * @return the raw-text of the file's content
+	 * @return the raw-text of the file's content or NULL if the raw-text is not retained
 	 */
-	public StringBuffer getPlainText() {
+	public TextStore getPlainText() {
 
 		if (_fileContent != null)
 			return _fileContent;
@@ -89,6 +135,36 @@ public class PlainTextFileHandler implements IFileHandler {
 		return null;
 	}
 
+	/**
+     * setter to specify whether the raw-text of the file's content is retained
+     * while reading the file, if not the file is only streamed through and
+     * {@link #getPlainText()} will return NULL
+     * 
+     * @param retain TRUE to retain the raw-text (default), FALSE to stream only
+     * @author andreas.gerlach
+     */
+	public void setRetainPlainText(boolean retain) {
+
+		_retainContent = retain;
+
+		if (!retain)
+			_fileContent = null;
+	}
+
+	/**
+     * setter to specify whether the file is followed while it is appended to
+     * (e.g. a log file), if so the end of the file is not taken as the end of the
+     * text, a character split at the end of the file is carried over and
+     * {@link #hasNext()} returns TRUE again as soon as the file has grown
+     * 
+     * @param follow TRUE to follow the file, FALSE to read it once (default)
+     * @author andreas.gerlach
+     */
+	public void setFollow(boolean follow) {
+
+		_follow = follow;
+	}
+
 	/**
      * getter to retrieve a file filter object specifying what kind of
      * files this file handler is capable to open and understand
@@ -109,7 +185,7 @@ public class PlainTextFileHandler implements IFileHandler {
 			@Override
 			public String getDescription() {
 				
-				return "unformatierter Text";
+				return "unformatierter Text (HTML, XML)";
 			}
 			
 			/**
@@ -127,8 +203,7 @@ public class PlainTextFileHandler implements IFileHandler {
 					
 				String fileName = f.getName().toLowerCase();
 				
-				return (fileName.endsWith(".txt") ||
-						fileName.endsWith(".html") ||
+				return (fileName.endsWith(".html") ||
 						fileName.endsWith(".htm") ||
 						fileName.endsWith(".xml"));
 			}
@@ -149,6 +224,20 @@ public class PlainTextFileHandler implements IFileHandler {
 		return _file.getName();
 	}
 
+	/**
+     * getter to retrieve the file with its absolute path
+     * 
+	 * @return the file or NULL if no file has been set
+	 * @author andreas.gerlach
+	 */
+	public File getAbsoluteFile() {
+
+		if (_file == null)
+			return null;
+
+		return _file.getAbsoluteFile();
+	}
+
 	/**
      * setter to set the file that should be opened and read
      * 
@@ -167,8 +256,9 @@ public class PlainTextFileHandler implements IFileHandler {
 			throw new IOException("File not readable!");
 		}
 
-		_fileContent = new StringBuffer((int) _file.length());
 		_fileCharset = Charset.forName("UTF8");
+		_decoder = new TextChunkDecoder(_fileCharset);
+		_chunkSize = AppController.getInstance().getSettings().getChunkSize();
 	}
 
 	/**
@@ -185,53 +275,88 @@ public class PlainTextFileHandler implements IFileHandler {
 	/**
 	 * get the next chunk of information from the file
 	 * by default the file content is loaded in chunks of 64kb in size
+	 * (see {@link Settings#getChunkSize()})
 	 * additionally it will check for windows line endings and convert them to *nix ones
 	 * 
 	 * @return a string representation of the actual chunk
+	 * @throws UncheckedIOException if the chunk cannot be read
 	 * @author andreas.gerlach
 	 */
 	public String next() {
 
-		BufferedInputStream stream = null;
-
 		try {
 
-			byte[] buffer = new byte[64 * 1024]; // 64kb buffer
-
-			// open the file and go the the current position
-			stream = new BufferedInputStream(new FileInputStream(_file));
-			stream.skip(getCurrentPosition());
+			// read the next chunk
+			ByteBuffer buffer = readChunk(_file, getCurrentPosition(), _chunkSize);
+			int bytesRead = buffer.remaining();
 
-			// read the next 64kb chunk
-			int bytesRead = stream.read(buffer, 0, buffer.length);
+			// convert it into a UTF-8 string and replace the line endings 
+			// from Windows to *nix, characters split at the end of the chunk
+			// are carried over to the next one
+			_filePos += bytesRead;
 
-			// convert it into a UTF-8 string and check the line endings
-			String result = new String(buffer, 0, bytesRead, _fileCharset);
-			result = result.replaceAll(WINLINE_ENDINGS, UNIXLINE_ENDINGS);	
-													// replace line endings from Windows to *nix
+			String result = _decoder.decode(buffer, !_follow && !hasNext());
 
-			_fileContent.append(result);
-			_filePos += bytesRead;
+			if (_retainContent) {
+				
+				if (_fileContent == null)
+					_fileContent = new TextStore();
+				
+				_fileContent.append(result);
+			}
 
 			return result;
 
 		} catch (IOException ex) {
 
-			AppController.getInstance().handleException(ex);
+			// the caller decides how to report the error (a dialog, the console, a log)
+			throw new UncheckedIOException(ex);
+		}
+	}
 
-		} finally {
+	/**
+	 * releases the file before the end-of-file has been reached
+	 * the file is opened for each chunk only, so there is nothing to release here
+	 * 
+	 * @author andreas.gerlach
+	 */
+	public void close() {
+		// nothing to do here
+	}
 
-			try {
+	/**
+	 * reads the raw bytes of the chunk starting at the given position of the file
+	 * this implementation opens the file, skips to the position and reads the chunk
+	 * into a new buffer, sub-classes may provide a more efficient way to access the file
+	 * 
+	 * @param file the file to read from
+	 * @param position the position in the file where the chunk starts
+	 * @param length the maximum number of bytes to read
+	 * @return a buffer holding the bytes of the chunk between its position and limit
+	 * @throws IOException if the file could not be read
+	 * @author andreas.gerlach
+	 */
+	protected ByteBuffer readChunk(File file, long position, int length) throws IOException {
 
-				stream.close();
+		BufferedInputStream stream = null;
 
-			} catch (IOException ex) {
+		try {
 
-				AppController.getInstance().handleException(ex);
-			}
-		}
+			byte[] buffer = new byte[length];
 
-		return null;
+			// open the file and go the the current position
+			stream = new BufferedInputStream(new FileInputStream(file));
+			stream.skip(position);
+
+			int bytesRead = stream.read(buffer, 0, buffer.length);
+
+			return ByteBuffer.wrap(buffer, 0, Math.max(bytesRead, 0));
+
+		} finally {
+
+			if (stream != null)
+				stream.close();
+		}
 	}
 
 	/**
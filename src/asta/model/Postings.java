@@ -0,0 +1,315 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * stores the start positions of the words found in a text as compressed lists,
+ * each list is identified by a handle that is kept in the word table for the word
+ * the positions of a list are ascending, so only the distance to the previous
+ * position is stored as variable length integer (7 bits per byte, the highest bit
+ * marks that another byte follows), which takes one or two bytes for most of the
+ * positions of a typical text
+ * the lists are decoded when the positions of a word are requested to highlight it
+ *
+ * @author andreas.gerlach
+ */
+class Postings {
+
+	/**
+	 * the initial number of lists that can be stored
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the initial number of bytes a list can hold
+	 */
+	private static final int INITIAL_LIST_CAPACITY = 4;
+
+	/**
+	 * the encoded positions of each list (NULL as long as the list is empty)
+	 */
+	private byte[][] _lists = new byte[INITIAL_CAPACITY][];
+
+	/**
+	 * the number of bytes used by each list
+	 */
+	private int[] _lengths = new int[INITIAL_CAPACITY];
+
+	/**
+	 * the number of positions in each list
+	 */
+	private int[] _sizes = new int[INITIAL_CAPACITY];
+
+	/**
+	 * the last position added to each list
+	 */
+	private long[] _lastPositions = new long[INITIAL_CAPACITY];
+
+	/**
+	 * the number of lists created
+	 */
+	private int _nmbrOfLists = 0;
+
+	/**
+	 * creates a new empty list of positions
+	 *
+	 * @return the handle of the new list
+	 * @author andreas.gerlach
+	 */
+	int create() {
+
+		if (_nmbrOfLists == _sizes.length) {
+
+			_lists = Arrays.copyOf(_lists, _nmbrOfLists * 2);
+			_lengths = Arrays.copyOf(_lengths, _nmbrOfLists * 2);
+			_sizes = Arrays.copyOf(_sizes, _nmbrOfLists * 2);
+			_lastPositions = Arrays.copyOf(_lastPositions, _nmbrOfLists * 2);
+		}
+
+		return _nmbrOfLists++;
+	}
+
+	/**
+	 * getter to retrieve the number of positions in a list
+	 *
+	 * @param handle the handle of the list
+	 * @return the number of positions in the list
+	 * @author andreas.gerlach
+	 */
+	int size(int handle) {
+
+		return _sizes[handle];
+	}
+
+	/**
+	 * getter to retrieve the number of bytes of the encoded positions of a list
+	 *
+	 * @param handle the handle of the list
+	 * @return the number of bytes of the list
+	 * @author andreas.gerlach
+	 */
+	int getLength(int handle) {
+
+		return _lengths[handle];
+	}
+
+	/**
+	 * getter to retrieve the last position of a list
+	 *
+	 * @param handle the handle of the list
+	 * @return the last position in the list (0 if the list is empty)
+	 * @author andreas.gerlach
+	 */
+	long getLastPosition(int handle) {
+
+		return _lastPositions[handle];
+	}
+
+	/**
+	 * reads the encoded positions of an empty list from the input given
+	 * (see {@link #writeTo} for writing them)
+	 *
+	 * @param handle the handle of the empty list
+	 * @param in the input to read from
+	 * @param length the number of bytes of the encoded positions
+	 * @param size the number of positions
+	 * @param lastPosition the last position of the list
+	 * @throws IOException if the list cannot be read
+	 * @author andreas.gerlach
+	 */
+	void readFrom(int handle, DataInput in, int length, int size, long lastPosition) throws IOException {
+
+		byte[] list = ensureCapacity(handle, length);
+
+		in.readFully(list, 0, length);
+
+		_lengths[handle] = length;
+		_sizes[handle] = size;
+		_lastPositions[handle] = lastPosition;
+	}
+
+	/**
+	 * writes the encoded positions of a list to the output given
+	 * (see {@link MappedTextMetaData} for reading them)
+	 *
+	 * @param handle the handle of the list
+	 * @param out the output to write to
+	 * @throws IOException if the list cannot be written
+	 * @author andreas.gerlach
+	 */
+	void writeTo(int handle, DataOutput out) throws IOException {
+
+		if (_lengths[handle] > 0)
+			out.write(_lists[handle], 0, _lengths[handle]);
+	}
+
+	/**
+	 * appends a position to a list
+	 *
+	 * @param handle the handle of the list
+	 * @param position the position to append, it must not be less than the last one
+	 * @author andreas.gerlach
+	 */
+	void add(int handle, long position) {
+
+		write(handle, position - _lastPositions[handle]);
+
+		_lastPositions[handle] = position;
+		_sizes[handle]++;
+	}
+
+	/**
+	 * appends all positions of a list of other postings to a list
+	 * the positions (moved by the offset) must not be less than the last one of the list
+	 *
+	 * @param handle the handle of the list
+	 * @param other the postings holding the positions to append
+	 * @param otherHandle the handle of the list in the other postings
+	 * @param offset the value added to each position of the other list
+	 * @author andreas.gerlach
+	 */
+	void addAll(int handle, Postings other, int otherHandle, long offset) {
+
+		int n = other._sizes[otherHandle];
+
+		if (n == 0)
+			return;
+
+		byte[] otherList = other._lists[otherHandle];
+		int otherLength = other._lengths[otherHandle];
+
+		// only the first distance has to be encoded again, it is relative
+		// to the start of the text in the other list
+		int start = 0;
+		long firstPosition = 0;
+
+		for (int shift = 0;; shift += 7) {
+
+			byte b = otherList[start++];
+			firstPosition |= (long) (b & 0x7F) << shift;
+
+			if (b >= 0)
+				break;
+		}
+
+		write(handle, firstPosition + offset - _lastPositions[handle]);
+
+		byte[] list = ensureCapacity(handle, otherLength - start);
+
+		System.arraycopy(otherList, start, list, _lengths[handle], otherLength - start);
+
+		_lengths[handle] += otherLength - start;
+		_lastPositions[handle] = other._lastPositions[otherHandle] + offset;
+		_sizes[handle] += n;
+	}
+
+	/**
+	 * getter to retrieve the positions of a list
+	 *
+	 * @param handle the handle of the list
+	 * @return the decoded positions in the list
+	 * @author andreas.gerlach
+	 */
+	long[] get(int handle) {
+
+		long[] positions = new long[_sizes[handle]];
+		byte[] list = _lists[handle];
+		int offset = 0;
+		long position = 0;
+
+		for (int i = 0; i < positions.length; ++i) {
+
+			long distance = 0;
+
+			for (int shift = 0;; shift += 7) {
+
+				byte b = list[offset++];
+				distance |= (long) (b & 0x7F) << shift;
+
+				if (b >= 0)
+					break;
+			}
+
+			position += distance;
+			positions[i] = position;
+		}
+
+		return positions;
+	}
+
+	/**
+	 * releases the unused bytes at the end of the lists
+	 * this is done when all positions of a text have been added
+	 *
+	 * @author andreas.gerlach
+	 */
+	void trimToSize() {
+
+		for (int handle = 0; handle < _nmbrOfLists; ++handle) {
+
+			if ((_lists[handle] != null) && (_lists[handle].length > _lengths[handle]))
+				_lists[handle] = Arrays.copyOf(_lists[handle], _lengths[handle]);
+		}
+	}
+
+	/**
+	 * writes a distance to the end of a list as variable length integer
+	 *
+	 * @param handle the handle of the list
+	 * @param distance the distance to write
+	 * @author andreas.gerlach
+	 */
+	private void write(int handle, long distance) {
+
+		int bytes = 1;
+
+		for (long d = distance >>> 7; d != 0; d >>>= 7)
+			bytes++;
+
+		byte[] list = ensureCapacity(handle, bytes);
+		int length = _lengths[handle];
+
+		while ((distance & ~0x7FL) != 0) {
+
+			list[length++] = (byte) ((distance & 0x7F) | 0x80);
+			distance >>>= 7;
+		}
+
+		list[length++] = (byte) distance;
+		_lengths[handle] = length;
+	}
+
+	/**
+	 * makes sure a list is able to take additional bytes
+	 *
+	 * @param handle the handle of the list
+	 * @param additional the number of bytes to be added
+	 * @return the array holding the bytes of the list
+	 * @author andreas.gerlach
+	 */
+	private byte[] ensureCapacity(int handle, int additional) {
+
+		byte[] list = _lists[handle];
+		int required = _lengths[handle] + additional;
+
+		if (list == null) {
+
+			list = new byte[Math.max(INITIAL_LIST_CAPACITY, required)];
+			_lists[handle] = list;
+
+		} else if (list.length < required) {
+
+			// grow by half of the size, so a long list wastes less unused bytes
+			list = Arrays.copyOf(list, Math.max(list.length + (list.length >> 1), required));
+			_lists[handle] = list;
+		}
+
+		return list;
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import asta.controller.AppController;
+
+/**
+ * publishes the progress of a text processing strategy to its listeners
+ * at a limited rate: an update is sent whenever another percent of the text has
+ * been processed or the update interval from the settings has elapsed since
+ * the last one, all other progress reports are dropped
+ * the message of an update is only formatted if a listener asks for it
+ * if the meta data of the text is known, an update is sent with a snapshot of the
+ * results found so far whenever the snapshot interval from the settings has elapsed
+ *
+ * @author andreas.gerlach
+ */
+class ProgressPublisher {
+
+	/**
+	 * the number of progress reports between two checks of the clock
+	 */
+	private static final int CLOCK_CHECK_MASK = 0xFF;
+
+	/**
+	 * the number of most frequent words kept in a snapshot (as shown by the top 10 list)
+	 */
+	private static final int SNAPSHOT_TOP_WORDS = 10;
+
+	/**
+	 * the strategy whose listeners are informed
+	 */
+	private GenericTextProcessingStrategy _strategy = null;
+
+	/**
+	 * the total amount of work (e.g. the length of the file)
+	 */
+	private long _total = 0;
+
+	/**
+	 * the percentage reported when no work has been done yet
+	 */
+	private int _fromPercentage = 0;
+
+	/**
+	 * the range of percentages the total amount of work is mapped to
+	 */
+	private int _percentageRange = 100;
+
+	/**
+	 * the minimum time between two updates (in nanoseconds)
+	 */
+	private long _interval = 0;
+
+	/**
+	 * the amount of work done that triggers the next update
+	 */
+	private long _nextPosition = 0;
+
+	/**
+	 * the time the last update has been sent (in nanoseconds)
+	 */
+	private long _lastTime = 0;
+
+	/**
+	 * the number of progress reports since the last update
+	 */
+	private int _reports = 0;
+
+	/**
+	 * the meta data the snapshots are taken from (NULL if no snapshots are sent)
+	 */
+	private TextMetaData _metaData = null;
+
+	/**
+	 * the minimum time between two snapshots (in nanoseconds)
+	 */
+	private long _snapshotInterval = 0;
+
+	/**
+	 * the time the last snapshot has been taken (in nanoseconds)
+	 */
+	private long _lastSnapshotTime = 0;
+
+	/**
+	 * constructs a new publisher mapping the total amount of work to 0-100 percent
+	 *
+	 * @param strategy the strategy whose listeners are informed
+	 * @param total the total amount of work (e.g. the length of the file)
+	 * @author andreas.gerlach
+	 */
+	ProgressPublisher(GenericTextProcessingStrategy strategy, long total) {
+
+		this(strategy, total, 0, 100);
+	}
+
+	/**
+	 * constructs a new publisher mapping the total amount of work to the range
+	 * of percentages given
+	 *
+	 * @param strategy the strategy whose listeners are informed
+	 * @param total the total amount of work (e.g. the length of the file)
+	 * @param fromPercentage the percentage reported when no work has been done yet
+	 * @param toPercentage the percentage reported when all work has been done
+	 * @author andreas.gerlach
+	 */
+	ProgressPublisher(GenericTextProcessingStrategy strategy, long total,
+			int fromPercentage, int toPercentage) {
+
+		_strategy = strategy;
+		_total = Math.max(total, 1);
+		_fromPercentage = fromPercentage;
+		_percentageRange = toPercentage - fromPercentage;
+		_interval = AppController.getInstance().getSettings().getProgressInterval() * 1000000L;
+		_lastTime = System.nanoTime();
+		_snapshotInterval = AppController.getInstance().getSettings().getSnapshotInterval() * 1000000L;
+		_lastSnapshotTime = _lastTime;
+	}
+
+	/**
+	 * setter to specify the meta data snapshots of the results found so far are taken from
+	 * the snapshots are taken on the thread reporting the progress, so it has to be
+	 * the thread adding the words to the meta data, the meta data follows its most
+	 * frequent words from now on, so a snapshot does not look at all words
+	 *
+	 * @param metaData the meta data of the text (NULL if no snapshots should be sent)
+	 * @author andreas.gerlach
+	 */
+	void setMetaData(TextMetaData metaData) {
+
+		_metaData = metaData;
+
+		if ((metaData != null) && (_snapshotInterval > 0))
+			metaData.followTopWords(SNAPSHOT_TOP_WORDS);
+	}
+
+	/**
+	 * reports the progress of the work, an update is only sent if it is due
+	 *
+	 * @param position the amount of work done so far
+	 * @param format the format of the message (see {@link String#format})
+	 * @param arg the argument of the message
+	 * @author andreas.gerlach
+	 */
+	void progress(long position, String format, Object arg) {
+
+		if (position >= _nextPosition) {
+
+			publish(position, format, arg);
+
+		} else if ((++_reports & CLOCK_CHECK_MASK) == 0) {
+
+			// the clock is checked every now and then only
+			if (System.nanoTime() - _lastTime >= _interval)
+				publish(position, format, arg);
+		}
+	}
+
+	/**
+	 * sends an update to the listeners of the strategy
+	 *
+	 * @param position the amount of work done so far
+	 * @param format the format of the message (see {@link String#format})
+	 * @param arg the argument of the message
+	 * @author andreas.gerlach
+	 */
+	private void publish(long position, String format, Object arg) {
+
+		int percentage = (int) (position * 100 / _total);
+
+		// the next update is due when another percent of the work has been done
+		_nextPosition = (percentage + 1) * _total / 100;
+		_lastTime = System.nanoTime();
+		_reports = 0;
+
+		// the snapshot is taken along with an update that is due anyway,
+		// so taking snapshots does not add any checks of the clock
+		TextMetaDataSnapshot snapshot = null;
+
+		if ((_metaData != null) && (_snapshotInterval > 0)
+				&& (_lastTime - _lastSnapshotTime >= _snapshotInterval)) {
+
+			snapshot = _metaData.snapshot(SNAPSHOT_TOP_WORDS);
+			_lastSnapshotTime = _lastTime;
+		}
+
+		_strategy.notifyTextProcessStatusUpdate(new TextProcessStatusEvent(_strategy,
+				_fromPercentage + percentage * _percentageRange / 100, snapshot, format, arg));
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * the ranking of the words of a text by their frequency without the words
+ * on the black-list of the settings
+ * the ranking of all words is built once, the words that are not ignored are
+ * counted in a binary indexed tree (fenwick tree) over the ranks, so a word
+ * added to or removed from the black-list is followed in O(log n) and the n-th
+ * word of the ranking is found in O(log n) as well
+ *
+ * @author andreas.gerlach
+ */
+class RankedWords {
+
+	/**
+	 * the word table the ranking is built for
+	 */
+	private WordTable _wordTable = null;
+
+	/**
+	 * the term ids of all words ordered by their rank
+	 */
+	private int[] _ranking = null;
+
+	/**
+	 * the ranks of the words by their term id
+	 */
+	private int[] _ranks = null;
+
+	/**
+	 * the flags of the words by their term id, TRUE if the word is ignored
+	 */
+	private boolean[] _ignored = null;
+
+	/**
+	 * the binary indexed tree counting the words that are not ignored by rank
+	 * (the node i holds the number for the ranks i - (i AND -i) up to i - 1)
+	 */
+	private int[] _tree = null;
+
+	/**
+	 * the highest power of two not greater than the number of words
+	 */
+	private int _highestBit = 0;
+
+	/**
+	 * the snapshot of the black-list the ranking follows
+	 */
+	private IgnorableWords _ignorableWords = null;
+
+	/**
+	 * constructs the ranking of the words in the table
+	 *
+	 * @param wordTable the word table
+	 * @param settings the settings holding the black-list of words
+	 * @author andreas.gerlach
+	 */
+	RankedWords(WordTable wordTable, Settings settings) {
+
+		_wordTable = wordTable;
+		_ranking = WordRanking.rank(wordTable);
+		_ranks = new int[_ranking.length];
+		_ignored = new boolean[_ranking.length];
+		_tree = new int[_ranking.length + 1];
+
+		for (int rank = 0; rank < _ranking.length; ++rank)
+			_ranks[_ranking[rank]] = rank;
+
+		_ignorableWords = settings.getIgnorableWordsSnapshot();
+
+		for (String word : _ignorableWords.toArray()) {
+
+			int termId = wordTable.find(word);
+
+			if (termId >= 0)
+				_ignored[termId] = true;
+		}
+
+		// build the tree bottom-up in linear time
+		for (int i = 1; i <= _ranking.length; ++i) {
+
+			_tree[i] += _ignored[_ranking[i - 1]] ? 0 : 1;
+
+			int parent = i + (i & -i);
+
+			if (parent <= _ranking.length)
+				_tree[parent] += _tree[i];
+		}
+
+		_highestBit = (_ranking.length == 0) ? 0 : Integer.highestOneBit(_ranking.length);
+	}
+
+	/**
+	 * applies the changes of the black-list since the last call
+	 *
+	 * @param settings the settings holding the black-list of words
+	 * @author andreas.gerlach
+	 */
+	void update(Settings settings) {
+
+		IgnorableWords ignorableWords = settings.getIgnorableWordsSnapshot();
+
+		if (ignorableWords == _ignorableWords)
+			return;
+
+		for (String word : ignorableWords.getChangesSince(_ignorableWords)) {
+
+			int termId = _wordTable.find(word);
+
+			if (termId < 0)
+				continue;
+
+			boolean ignored = ignorableWords.contains(word);
+
+			if (ignored != _ignored[termId]) {
+
+				_ignored[termId] = ignored;
+				add(_ranks[termId] + 1, ignored ? -1 : 1);
+			}
+		}
+
+		_ignorableWords = ignorableWords;
+	}
+
+	/**
+	 * getter to retrieve the number of words in the ranking
+	 *
+	 * @return the number of words that are not ignored
+	 * @author andreas.gerlach
+	 */
+	int size() {
+
+		int n = 0;
+
+		for (int i = _ranking.length; i > 0; i -= i & -i)
+			n += _tree[i];
+
+		return n;
+	}
+
+	/**
+	 * getter to retrieve the term id of the word at the given position of the ranking
+	 *
+	 * @param index the position in the ranking of the words that are not ignored
+	 * @return the term id of the word
+	 * @author andreas.gerlach
+	 */
+	int get(int index) {
+
+		// descend the tree from the highest node to find the rank
+		// before which exactly index words are not ignored
+		int position = 0;
+		int remaining = index;
+
+		for (int bit = _highestBit; bit != 0; bit >>>= 1) {
+
+			int next = position + bit;
+
+			if ((next <= _ranking.length) && (_tree[next] <= remaining)) {
+
+				position = next;
+				remaining -= _tree[next];
+			}
+		}
+
+		return _ranking[position];
+	}
+
+	/**
+	 * getter to retrieve the term ids of the words of the ranking
+	 *
+	 * @return the term ids of the words that are not ignored ordered by their rank
+	 * @author andreas.gerlach
+	 */
+	int[] toArray() {
+
+		int[] termIds = new int[size()];
+		int n = 0;
+
+		for (int termId : _ranking) {
+
+			if (!_ignored[termId])
+				termIds[n++] = termId;
+		}
+
+		return termIds;
+	}
+
+	/**
+	 * adds a value to the counter of a rank in the tree
+	 *
+	 * @param i the rank + 1
+	 * @param value the value to add
+	 * @author andreas.gerlach
+	 */
+	private void add(int i, int value) {
+
+		for (; i <= _ranking.length; i += i & -i)
+			_tree[i] += value;
+	}
+}
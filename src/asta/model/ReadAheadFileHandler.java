@@ -0,0 +1,488 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.filechooser.FileFilter;
+
+/**
+ * a file handler that wraps any other file handler and reads its chunks ahead
+ * a background thread fills the next decoded chunks into a bounded queue while the
+ * text processing strategy is still busy with the current one, so reading and decoding
+ * the file overlaps with analyzing it
+ *
+ * @author andreas.gerlach
+ */
+public class ReadAheadFileHandler implements IFileHandler {
+
+	/**
+	 * the time the background thread waits for a free slot in the queue before it
+	 * checks if the consumer is still alive (in milliseconds)
+	 */
+	private static final long OFFER_TIMEOUT = 100;
+
+	/**
+	 * the file handler that actually reads the file
+	 */
+	private IFileHandler _fileHandler = null;
+
+	/**
+	 * the queue holding the chunks that have been read ahead
+	 */
+	private BlockingQueue<Chunk> _chunks = null;
+
+	/**
+	 * the background thread reading the chunks
+	 */
+	private Thread _readerThread = null;
+
+	/**
+	 * the thread consuming the chunks
+	 */
+	private Thread _consumerThread = null;
+
+	/**
+	 * set when the consumer does not want any further chunks
+	 */
+	private volatile boolean _closed = false;
+
+	/**
+	 * the chunk that will be returned by the next call to {@link #next()}
+	 */
+	private Chunk _nextChunk = null;
+
+	/**
+	 * the position in the file behind the chunk that has been returned last
+	 */
+	private long _filePos = 0;
+
+	/**
+	 * the position in the file reading can be resumed from behind the chunk
+	 * that has been returned last
+	 */
+	private long _resumePos = 0;
+
+	/**
+	 * the number of characters of the chunks that have been returned so far
+	 */
+	private long _textLength = 0;
+
+	/**
+	 * constructs a new read-ahead file handler
+	 *
+	 * @param fileHandler the file handler that actually reads the file
+	 * @param nmbrOfChunks the number of chunks that are read ahead at most
+	 * @author andreas.gerlach
+	 */
+	public ReadAheadFileHandler(IFileHandler fileHandler, int nmbrOfChunks) {
+
+		_fileHandler = fileHandler;
+		_chunks = new ArrayBlockingQueue<Chunk>(Math.max(nmbrOfChunks, 1));
+		_filePos = fileHandler.getCurrentPosition();
+		_resumePos = fileHandler.getResumePosition();
+	}
+
+	/**
+     * getter to retrieve the length of the file
+     *
+     * @return the length of the file
+     * @author andreas.gerlach
+     */
+	public long getFileLength() {
+
+		return _fileHandler.getFileLength();
+	}
+
+	/**
+     * getter to retrieve the current position in the file
+     * this is the position behind the last chunk that has been returned, not the
+     * position the background thread has read ahead to
+     *
+     * @return the current position in the file
+     * @author andreas.gerlach
+     */
+	public long getCurrentPosition() {
+
+		return _filePos;
+	}
+
+	/**
+     * getter to retrieve the position in the file from which reading can be resumed
+     * to continue exactly behind the chunk that has been returned last, not behind
+     * the chunk the background thread has read ahead to
+     *
+     * @return the position in the file to resume reading from
+     * @author andreas.gerlach
+     */
+	public long getResumePosition() {
+
+		return _resumePos;
+	}
+
+	/**
+     * continues reading the file at the given position instead of its start,
+     * it has to be called before the first chunk is read
+     *
+     * @param position the position in the file to resume reading from
+     * @author andreas.gerlach
+     */
+	public void resumeAt(long position) {
+
+		if (_readerThread != null)
+			throw new IllegalStateException("File has been read already!");
+
+		_fileHandler.resumeAt(position);
+
+		_filePos = _fileHandler.getCurrentPosition();
+		_resumePos = _fileHandler.getResumePosition();
+	}
+
+	/**
+     * getter to retrieve the raw-text of the file's content
+     * once the file handler has been closed the raw-text ends with the last chunk that
+     * has been returned, the chunks read ahead but not returned are cut off
+     *
+	 * @return the raw-text of the file's content or NULL if the raw-text is not retained
+	 */
+	public TextStore getPlainText() {
+
+		return _fileHandler.getPlainText();
+	}
+
+	/**
+     * setter to specify whether the raw-text of the file's content is retained
+     * while reading the file
+     *
+     * @param retain TRUE to retain the raw-text (default), FALSE to stream only
+     * @author andreas.gerlach
+     */
+	public void setRetainPlainText(boolean retain) {
+
+		_fileHandler.setRetainPlainText(retain);
+	}
+
+	/**
+     * getter to retrieve a file filter object specifying what kind of
+     * files this file handler is capable to open and understand
+     *
+	 * @return the file filter object with the supported file types
+	 * @author andreas.gerlach
+	 */
+	public FileFilter getFileFilter() {
+
+		return _fileHandler.getFileFilter();
+	}
+
+	/**
+     * getter to retrieve the name of the file
+     *
+	 * @return the name of the file
+	 * @author andreas.gerlach
+	 */
+	public String getFile() {
+
+		return _fileHandler.getFile();
+	}
+
+	/**
+     * getter to retrieve the file with its absolute path
+     *
+	 * @return the file or NULL if no file has been set
+	 * @author andreas.gerlach
+	 */
+	public File getAbsoluteFile() {
+
+		return _fileHandler.getAbsoluteFile();
+	}
+
+	/**
+     * setter to set the file that should be opened and read
+     *
+	 * @param  fileName the name of the file to be opened and read
+	 * @author andreas.gerlach
+	 */
+	public void setFile(String fileName) throws IOException {
+
+		_fileHandler.setFile(fileName);
+	}
+
+	/**
+	 * checks if the end-of-file has been reached
+	 * the first call starts the background thread reading ahead
+	 * an error of the background thread is thrown here, so the consumer does not
+	 * mistake it for the end-of-file, the same holds if the consumer is interrupted
+	 * while it waits for the next chunk
+	 *
+	 * @return TRUE/FALSE
+	 * @throws UncheckedIOException if the file cannot be read
+	 * @throws CancellationException if the consumer has been interrupted
+	 * @author andreas.gerlach
+	 */
+	public boolean hasNext() {
+
+		if (_nextChunk == null) {
+
+			if (_readerThread == null)
+				startReading();
+
+			try {
+
+				_nextChunk = _chunks.take();
+
+			} catch (InterruptedException e) {
+
+				// the background thread is stopped, the consumer does not come back
+				close();
+
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Reading ahead has been interrupted!");
+			}
+		}
+
+		// the chunk is kept, so the error is thrown again on the next call
+		if (_nextChunk.error != null)
+			rethrow(_nextChunk.error);
+		
+		return (_nextChunk.text != null);
+	}
+
+	/**
+	 * get the next chunk that has been read ahead, waits for the background thread
+	 * if it has not been read yet
+	 *
+	 * @return a string representation of the actual chunk
+	 * @throws UncheckedIOException if the file cannot be read
+	 * @author andreas.gerlach
+	 */
+	public String next() {
+
+		if (!hasNext())
+			return null;
+
+		String result = _nextChunk.text;
+
+		_filePos = _nextChunk.position;
+		_resumePos = _nextChunk.resumePosition;
+		_textLength += result.length();
+		_nextChunk = null;
+
+		return result;
+	}
+
+	/**
+	 * releases the file before the end-of-file has been reached, the background
+	 * thread stops reading ahead and releases the wrapped file handler itself
+	 * (as it might be reading from it right now), it is waited for, so the raw-text
+	 * is not changed anymore and can be cut off behind the last chunk returned
+	 *
+	 * @author andreas.gerlach
+	 */
+	public void close() {
+
+		_closed = true;
+
+		if (_readerThread == null) {
+
+			_fileHandler.close();
+			return;
+		}
+
+		// the chunks read ahead are dropped, so the background thread is not blocked
+		_chunks.clear();
+		_nextChunk = null;
+
+		boolean interrupted = false;
+
+		while (_readerThread.isAlive()) {
+
+			try {
+
+				_readerThread.join();
+
+			} catch (InterruptedException e) {
+
+				// the background thread stops on its own shortly, see offer()
+				interrupted = true;
+			}
+		}
+
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		TextStore text = _fileHandler.getPlainText();
+
+		if (text != null)
+			text.truncate(_textLength);
+	}
+
+	/**
+    * not used in this scenario
+    */
+	public void remove() {
+		// do nothing here
+	}
+
+	/**
+	 * starts the background thread that reads the chunks of the wrapped file handler
+	 * until the end-of-file has been reached, a chunk with no text marks the end,
+	 * if reading fails a chunk carrying the error is queued as last one
+	 *
+	 * @author andreas.gerlach
+	 */
+	private void startReading() {
+
+		_consumerThread = Thread.currentThread();
+
+		_readerThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+
+				String text = null;
+
+				try {
+					
+					do {
+
+						text = _fileHandler.hasNext() ? _fileHandler.next() : null;
+
+					} while (offer(new Chunk(text, _fileHandler.getCurrentPosition(),
+										_fileHandler.getResumePosition()))
+								&& (text != null));
+
+				} catch (Throwable t) {
+					
+					// the consumer would wait for the next chunk forever otherwise
+					offer(new Chunk(t, _fileHandler.getCurrentPosition(),
+							_fileHandler.getResumePosition()));
+					
+				} finally {
+					
+					if (_closed)
+						_fileHandler.close();
+				}
+			}
+
+		}, "ASTA read-ahead " + _fileHandler.getFile());
+
+		_readerThread.setDaemon(true);
+		_readerThread.start();
+	}
+
+	/**
+	 * puts the chunk into the queue as soon as there is a free slot, gives up if
+	 * the consumer has gone away or closed the file handler in the meantime
+	 *
+	 * @param chunk the chunk to put into the queue
+	 * @return TRUE if the chunk has been queued, FALSE if the consumer has gone away
+	 * @author andreas.gerlach
+	 */
+	private boolean offer(Chunk chunk) {
+
+		try {
+
+			while (!_chunks.offer(chunk, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+
+				if (_closed || !_consumerThread.isAlive())
+					return false;
+			}
+
+			return !_closed;
+
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * throws the error of the background thread on the consumer's thread
+	 * 
+	 * @param error the error the background thread has failed with
+	 * @author andreas.gerlach
+	 */
+	private static void rethrow(Throwable error) {
+		
+		if (error instanceof UncheckedIOException)
+			throw new UncheckedIOException(((UncheckedIOException) error).getCause().getMessage(),
+					((UncheckedIOException) error).getCause());
+		
+		if (error instanceof RuntimeException)
+			throw (RuntimeException) error;
+		
+		if (error instanceof Error)
+			throw (Error) error;
+		
+		throw new IllegalStateException(error);
+	}
+
+	/**
+	 * a chunk of text that has been read ahead together with the position
+	 * in the file behind it
+	 *
+	 * @author andreas.gerlach
+	 */
+	static class Chunk {
+
+		/**
+		 * the text of the chunk, NULL marks the end-of-file
+		 */
+		final String text;
+
+		/**
+		 * the position in the file behind the chunk
+		 */
+		final long position;
+
+		/**
+		 * the position in the file reading can be resumed from behind the chunk
+		 */
+		final long resumePosition;
+
+		/**
+		 * the error reading the file has failed with (NULL if the chunk has been read)
+		 */
+		final Throwable error;
+
+		/**
+		 * constructs a new chunk
+		 *
+		 * @param text the text of the chunk
+		 * @param position the position in the file behind the chunk
+		 * @param resumePosition the position in the file reading can be resumed from behind the chunk
+		 * @author andreas.gerlach
+		 */
+		Chunk(String text, long position, long resumePosition) {
+
+			this.text = text;
+			this.position = position;
+			this.resumePosition = resumePosition;
+			this.error = null;
+		}
+
+		/**
+		 * constructs a chunk carrying the error reading the file has failed with
+		 *
+		 * @param error the error reading the file has failed with
+		 * @param position the position in the file up to which it has been read
+		 * @param resumePosition the position in the file reading can be resumed from
+		 * @author andreas.gerlach
+		 */
+		Chunk(Throwable error, long position, long resumePosition) {
+
+			this.text = null;
+			this.position = position;
+			this.resumePosition = resumePosition;
+			this.error = error;
+		}
+	}
+}
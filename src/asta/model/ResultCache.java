@@ -0,0 +1,233 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import asta.controller.AppController;
+
+/**
+ * a persistent cache of the results of analyzing processes on disk
+ * the results are saved in the format of {@link MappedTextMetaData} and are found
+ * by a key made of the hash of the file content, the identity of the text
+ * processing strategy and the chunk size the text is read with, so a file that has been analyzed before is found again
+ * even if it has been renamed or copied
+ * the cache is limited in size, the results that have not been used for the
+ * longest time are removed first (the time of the last use is kept as the time
+ * of the last modification of the files)
+ *
+ * @author andreas.gerlach
+ */
+public class ResultCache {
+
+	/**
+	 * the extension of the files in the cache
+	 */
+	private static final String EXTENSION = ".asta";
+
+	/**
+	 * the size of the buffer used to read the file content for hashing
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * the directory the results are saved in
+	 */
+	private File _directory = null;
+
+	/**
+	 * the maximum size of all results in the cache (in bytes)
+	 */
+	private long _maxSize = 0;
+
+	/**
+	 * constructs a new cache in the directory given
+	 *
+	 * @param directory the directory the results are saved in (created if missing)
+	 * @param maxSize the maximum size of all results in the cache (in bytes)
+	 * @author andreas.gerlach
+	 */
+	public ResultCache(File directory, long maxSize) {
+
+		_directory = directory;
+		_maxSize = maxSize;
+	}
+
+	/**
+	 * calculates the key of the result of analyzing a file with a text processing strategy
+	 * the whole file is read to calculate a SHA-256 hash of its content
+	 *
+	 * @param file the file to analyze
+	 * @param strategy the strategy used to analyze the file
+	 * @return the key of the result in the cache
+	 * @throws IOException if the file cannot be read
+	 * @author andreas.gerlach
+	 */
+	public String getKey(File file, ITextProcessingStrategy strategy) throws IOException {
+
+		MessageDigest digest = null;
+
+		try {
+
+			digest = MessageDigest.getInstance("SHA-256");
+
+		} catch (NoSuchAlgorithmException e) {
+
+			throw new IOException(e);
+		}
+
+		InputStream in = new FileInputStream(file);
+
+		try {
+
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int n = 0;
+
+			while ((n = in.read(buffer)) > 0)
+				digest.update(buffer, 0, n);
+
+		} finally {
+
+			in.close();
+		}
+
+		// the same content analyzed by another strategy, read in chunks of another size
+		// (words are not continued over some chunk boundaries) or saved in another
+		// format version gives a different result
+		digest.update(String.format("\0%s\0%s\0%d\0%d", strategy.getClass().getName(),
+				strategy.toString(), AppController.getInstance().getSettings().getChunkSize(),
+				MappedTextMetaData.VERSION).getBytes(Charset.forName("UTF8")));
+
+		StringBuilder key = new StringBuilder();
+
+		for (byte b : digest.digest())
+			key.append(String.format("%02x", b & 0xFF));
+
+		return key.toString();
+	}
+
+	/**
+	 * looks up the result for the key given
+	 *
+	 * @param key the key of the result (see {@link #getKey})
+	 * @return the result or NULL if it is not in the cache
+	 * @author andreas.gerlach
+	 */
+	public synchronized MappedTextMetaData get(String key) {
+
+		File file = new File(_directory, key + EXTENSION);
+
+		if (!file.isFile())
+			return null;
+
+		try {
+
+			MappedTextMetaData data = new MappedTextMetaData(file);
+
+			// mark the result as used right now
+			file.setLastModified(System.currentTimeMillis());
+
+			return data;
+
+		} catch (IOException e) {
+
+			// a broken result (or one of an unknown version) is replaced later on
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * saves the result for the key given and removes the results that have not been used
+	 * for the longest time until the cache does not exceed its maximum size any longer
+	 *
+	 * @param key the key of the result (see {@link #getKey})
+	 * @param data the result to save
+	 * @throws IOException if the result cannot be saved
+	 * @author andreas.gerlach
+	 */
+	public synchronized void put(String key, TextMetaData data) throws IOException {
+
+		if (!_directory.isDirectory() && !_directory.mkdirs())
+			throw new IOException("Cache directory " + _directory + " cannot be created!");
+
+		// the result is written to a temporary file first,
+		// so a result is either complete or not in the cache at all
+		File tempFile = File.createTempFile(key, ".tmp", _directory);
+		File file = new File(_directory, key + EXTENSION);
+
+		try {
+
+			MappedTextMetaData.write(data, tempFile);
+
+			if (file.exists())
+				file.delete();
+
+			if (!tempFile.renameTo(file))
+				throw new IOException("Result cannot be saved as " + file + "!");
+
+		} finally {
+
+			tempFile.delete();
+		}
+
+		evict();
+	}
+
+	/**
+	 * removes the results that have not been used for the longest time
+	 * until the cache does not exceed its maximum size
+	 *
+	 * @author andreas.gerlach
+	 */
+	private void evict() {
+
+		File[] files = _directory.listFiles(new FileFilter() {
+
+			@Override
+			public boolean accept(File file) {
+
+				return file.isFile() && file.getName().endsWith(EXTENSION);
+			}
+		});
+
+		if (files == null)
+			return;
+
+		long size = 0;
+
+		for (File file : files)
+			size += file.length();
+
+		if (size <= _maxSize)
+			return;
+
+		// the least recently used results first
+		Arrays.sort(files, new Comparator<File>() {
+
+			@Override
+			public int compare(File f1, File f2) {
+
+				return Long.valueOf(f1.lastModified()).compareTo(Long.valueOf(f2.lastModified()));
+			}
+		});
+
+		for (int i = 0; (i < files.length) && (size > _maxSize); ++i) {
+
+			long length = files[i].length();
+
+			if (files[i].delete())
+				size -= length;
+		}
+	}
+}
@@ -33,9 +33,60 @@ public class Settings {
 	private int _minFontSize = 8;
 
 	/**
-	 * the black-list of words that should be ignored in the frequency list & tag cloud
+	 * the black-list of words that should be ignored in the frequency list & tag cloud,
+	 * each change replaces the snapshot, so it can be read by the analyzing threads
+	 * while the UI changes it
 	 */
-	private ArrayList<String> _arrIgnorableWords = new ArrayList<String>();
+	private volatile IgnorableWords _ignorableWords = IgnorableWords.EMPTY;
+
+	/**
+	 * the size of the chunks the files are read in (in bytes)
+	 */
+	private int _chunkSize = 64 * 1024;
+
+	/**
+	 * the number of chunks that are read ahead while analyzing the current one
+	 * (0 = no read-ahead)
+	 */
+	private int _readAheadChunks = 4;
+
+	/**
+	 * whether the raw-text of the files is retained for the text view
+	 * or the files are only streamed through to gather the statistics
+	 */
+	private boolean _retainPlainText = true;
+
+	/**
+	 * the minimum time between two progress updates of the analyzing process (in milliseconds)
+	 */
+	private int _progressInterval = 100;
+
+	/**
+	 * the minimum time between two snapshots of the results found so far
+	 * that are sent with the progress updates (in milliseconds, 0 = no snapshots)
+	 */
+	private int _snapshotInterval = 250;
+
+	/**
+	 * the directory the results of analyzing processes are cached in
+	 */
+	private File _resultCacheDirectory = new File(System.getProperty("user.home"), ".asta/cache");
+
+	/**
+	 * the maximum size of the cached results (in bytes, 0 = no caching)
+	 */
+	private long _resultCacheSize = 256L * 1024 * 1024;
+
+	/**
+	 * the maximum number of analyzing processes running at the same time
+	 * (each of them keeps one processor busy)
+	 */
+	private int _maxAnalysisThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * the minimum time between two checkpoints of a long running analyzing process (in milliseconds)
+	 */
+	private long _checkpointInterval = 60 * 1000;
 
 	/**
 	 * getter to retrieve the maximum font size for the tag cloud
@@ -81,6 +132,218 @@ public class Settings {
 		_minFontSize = size;
 	}
 
+	/**
+	 * getter to retrieve the size of the chunks the files are read in
+	 * 
+	 * @return the size of the chunks in bytes
+	 * @author andreas.gerlach
+	 */
+	public int getChunkSize() {
+
+		return _chunkSize;
+	}
+
+	/**
+	 * setter to specify the size of the chunks the files are read in
+	 * 
+	 * @param size the size of the chunks in bytes
+	 * @author andreas.gerlach
+	 */
+	public void setChunkSize(int size) {
+
+		_chunkSize = size;
+	}
+
+	/**
+	 * getter to retrieve the number of chunks that are read ahead
+	 * while the current chunk is analyzed
+	 * 
+	 * @return the number of chunks read ahead (0 = no read-ahead)
+	 * @author andreas.gerlach
+	 */
+	public int getReadAheadChunks() {
+
+		return _readAheadChunks;
+	}
+
+	/**
+	 * setter to specify the number of chunks that are read ahead
+	 * while the current chunk is analyzed
+	 * 
+	 * @param nmbrOfChunks the number of chunks read ahead (0 = no read-ahead)
+	 * @author andreas.gerlach
+	 */
+	public void setReadAheadChunks(int nmbrOfChunks) {
+
+		_readAheadChunks = nmbrOfChunks;
+	}
+
+	/**
+	 * getter to retrieve whether the raw-text of the files is retained
+	 * 
+	 * @return TRUE if the raw-text is retained, FALSE if the files are only streamed through
+	 * @author andreas.gerlach
+	 */
+	public boolean isRetainPlainText() {
+
+		return _retainPlainText;
+	}
+
+	/**
+	 * setter to specify whether the raw-text of the files is retained, in the 
+	 * stats-only mode (FALSE) the files are only streamed through and just the 
+	 * text meta data is gathered, which needs a small fixed amount of memory only
+	 * 
+	 * @param retain TRUE to retain the raw-text, FALSE to stream the files only
+	 * @author andreas.gerlach
+	 */
+	public void setRetainPlainText(boolean retain) {
+
+		_retainPlainText = retain;
+	}
+
+	/**
+	 * getter to retrieve the minimum time between two progress updates 
+	 * of the analyzing process
+	 * 
+	 * @return the minimum time between two progress updates in milliseconds
+	 * @author andreas.gerlach
+	 */
+	public int getProgressInterval() {
+
+		return _progressInterval;
+	}
+
+	/**
+	 * setter to specify the minimum time between two progress updates
+	 * of the analyzing process, besides that an update is sent for every percent
+	 * of the file that has been analyzed
+	 * 
+	 * @param interval the minimum time between two progress updates in milliseconds
+	 * @author andreas.gerlach
+	 */
+	public void setProgressInterval(int interval) {
+
+		_progressInterval = interval;
+	}
+
+	/**
+	 * getter to retrieve the minimum time between two snapshots of the results
+	 * of the analyzing process found so far
+	 * 
+	 * @return the minimum time between two snapshots in milliseconds (0 = no snapshots)
+	 * @author andreas.gerlach
+	 */
+	public int getSnapshotInterval() {
+
+		return _snapshotInterval;
+	}
+
+	/**
+	 * setter to specify the minimum time between two snapshots of the results of the
+	 * analyzing process found so far, a snapshot is sent with the next progress update
+	 * that is due after the interval has elapsed
+	 * 
+	 * @param interval the minimum time between two snapshots in milliseconds (0 = no snapshots)
+	 * @author andreas.gerlach
+	 */
+	public void setSnapshotInterval(int interval) {
+
+		_snapshotInterval = interval;
+	}
+
+	/**
+	 * getter to retrieve the directory the results of analyzing processes are cached in
+	 * 
+	 * @return the directory of the result cache
+	 * @author andreas.gerlach
+	 */
+	public File getResultCacheDirectory() {
+
+		return _resultCacheDirectory;
+	}
+
+	/**
+	 * setter to specify the directory the results of analyzing processes are cached in
+	 * 
+	 * @param directory the directory of the result cache
+	 * @author andreas.gerlach
+	 */
+	public void setResultCacheDirectory(File directory) {
+
+		_resultCacheDirectory = directory;
+	}
+
+	/**
+	 * getter to retrieve the maximum size of the cached results
+	 * 
+	 * @return the maximum size of the cached results in bytes (0 = no caching)
+	 * @author andreas.gerlach
+	 */
+	public long getResultCacheSize() {
+
+		return _resultCacheSize;
+	}
+
+	/**
+	 * setter to specify the maximum size of the cached results, the results that
+	 * have not been used for the longest time are removed when the size is exceeded
+	 * 
+	 * @param size the maximum size of the cached results in bytes (0 = no caching)
+	 * @author andreas.gerlach
+	 */
+	public void setResultCacheSize(long size) {
+
+		_resultCacheSize = size;
+	}
+
+	/**
+	 * getter to retrieve the maximum number of analyzing processes running at the same time
+	 * 
+	 * @return the maximum number of analyzing processes running at the same time
+	 * @author andreas.gerlach
+	 */
+	public int getMaxAnalysisThreads() {
+
+		return _maxAnalysisThreads;
+	}
+
+	/**
+	 * setter to specify the maximum number of analyzing processes running at the same time,
+	 * further analyzing processes wait until one of them is finished
+	 * (the value is taken into account when the first analyzing process is started)
+	 * 
+	 * @param threads the maximum number of analyzing processes running at the same time
+	 * @author andreas.gerlach
+	 */
+	public void setMaxAnalysisThreads(int threads) {
+
+		_maxAnalysisThreads = threads;
+	}
+
+	/**
+	 * getter to retrieve the minimum time between two checkpoints of an analyzing process
+	 * 
+	 * @return the minimum time between two checkpoints in milliseconds
+	 * @author andreas.gerlach
+	 */
+	public long getCheckpointInterval() {
+
+		return _checkpointInterval;
+	}
+
+	/**
+	 * setter to specify the minimum time between two checkpoints of an analyzing process,
+	 * each checkpoint writes the whole state of the process, so it should not be too short
+	 * 
+	 * @param interval the minimum time between two checkpoints in milliseconds
+	 * @author andreas.gerlach
+	 */
+	public void setCheckpointInterval(long interval) {
+
+		_checkpointInterval = interval;
+	}
+
 	/**
 	 * checks if the word given is in the black-list of words
 	 * 
@@ -90,7 +353,7 @@ public class Settings {
 	 */
 	public boolean shouldIgnoreWord(String word) {
 
-		return (_arrIgnorableWords.indexOf(word) >= 0);
+		return _ignorableWords.contains(word);
 	}
 
 	/**
@@ -99,10 +362,9 @@ public class Settings {
 	 * @param word the word that should be added to the black-list
 	 * @author andreas.p&ouml;rtner
 	 */
-	public void addIgnorableWord(String word) {
+	public synchronized void addIgnorableWord(String word) {
 
-		if (_arrIgnorableWords.indexOf(word) == -1)
-			_arrIgnorableWords.add(word);
+		_ignorableWords = _ignorableWords.add(word);
 	}
 
 	/**
@@ -111,12 +373,9 @@ public class Settings {
 	 * @param word the word that should be removed from the black-list
 	 * @author andreas.p&ouml;rtner
 	 */
-	public void removeIgnorableWord(String word) {
-
-		int i = _arrIgnorableWords.indexOf(word);
+	public synchronized void removeIgnorableWord(String word) {
 
-		if (i >= 0)
-			_arrIgnorableWords.remove(i);
+		_ignorableWords = _ignorableWords.remove(word);
 	}
 
 	/**
@@ -127,7 +386,20 @@ public class Settings {
 	 */
 	public String[] getIgnorableWords() {
 
-		return _arrIgnorableWords.toArray(new String[0]);
+		return _ignorableWords.toArray();
+	}
+
+	/**
+	 * getter to retrieve the current snapshot of the black-list of words, it is not
+	 * changed anymore, so the rankings of words can compare it with a later one
+	 * to follow the changes (see {@link IgnorableWords#getChangesSince})
+	 * 
+	 * @return the black-list of words as it is now
+	 * @author andreas.gerlach
+	 */
+	public IgnorableWords getIgnorableWordsSnapshot() {
+
+		return _ignorableWords;
 	}
 
 	/**
@@ -204,6 +476,10 @@ public class Settings {
 
 			} catch (ClassNotFoundException e) {
 
+			} catch (LinkageError e) {
+
+				// the class depends on a module that is not available in this runtime
+				// (e.g. the Vector API used by the VectorTextProcessingStrategy)
 			}
 		}
 
@@ -0,0 +1,191 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * analyzes a file that is being appended to (e.g. a log file or a transcript)
+ * incrementally, the analyzer remembers the position up to which the file has been
+ * read and the word that has not been finished at the end of the file, so each refresh
+ * tokenizes only the bytes that have been appended since the last one into the same
+ * text meta data and takes time in the order of the new bytes, not of the whole file
+ * if the file has been truncated (e.g. a log file has been rotated) it is analyzed
+ * from the start again
+ *
+ * @author andreas.gerlach
+ */
+public class TailTextAnalyzer {
+
+	/**
+	 * the file that is followed
+	 */
+	private File _file = null;
+
+	/**
+	 * the strategy providing the tokenizer
+	 */
+	private GenericTextProcessingStrategy _strategy = null;
+
+	/**
+	 * the file handler following the file
+	 */
+	private PlainTextFileHandler _fileHandler = null;
+
+	/**
+	 * the meta data of the text read so far
+	 */
+	private TextMetaData _metaData = null;
+
+	/**
+	 * the tokenizer holding the word that has not been finished yet
+	 */
+	private WordTokenizer _tokenizer = null;
+
+	/**
+	 * the position in the text up to which the file has been analyzed
+	 */
+	private long _caretPosition = 0;
+
+	/**
+	 * the last character that has been tokenized (empty at the start of the file),
+	 * a conditional separator at the start of the next refresh joins two words if
+	 * this is a letter or digit
+	 */
+	private String _previousChar = "";
+
+	/**
+	 * a conditional separator (e.g. a hyphen) at the end of the text read so far,
+	 * whether it joins two words is known with the character following it only,
+	 * so it is tokenized with the text of the next refresh
+	 */
+	private String _pendingSeparator = "";
+
+	/**
+	 * constructs a new analyzer following the given file
+	 *
+	 * @param file the file that is being appended to
+	 * @param strategy the strategy used to split the text into words
+	 * @throws IOException if the file cannot be read
+	 * @author andreas.gerlach
+	 */
+	public TailTextAnalyzer(File file, GenericTextProcessingStrategy strategy) throws IOException {
+
+		_file = file;
+		_strategy = strategy;
+
+		restart();
+	}
+
+	/**
+	 * getter to retrieve the meta data of the text analyzed so far
+	 *
+	 * @return the meta data of the text analyzed so far
+	 * @author andreas.gerlach
+	 */
+	public TextMetaData getMetaData() {
+
+		return _metaData;
+	}
+
+	/**
+	 * getter to retrieve the position in the file up to which it has been analyzed
+	 *
+	 * @return the number of bytes that have been analyzed
+	 * @author andreas.gerlach
+	 */
+	public long getCurrentPosition() {
+
+		return _fileHandler.getCurrentPosition();
+	}
+
+	/**
+	 * analyzes the bytes that have been appended to the file since the last refresh
+	 * a word at the end of the file is kept until the next refresh shows whether it is
+	 * continued, so it is not counted before it has been finished by a punctuation,
+	 * the same holds for a conditional separator at the end of the file, so the words
+	 * are split like in a single run over the whole file
+	 *
+	 * @return TRUE if the text meta data has changed
+	 * @throws IOException if the file cannot be read
+	 * @author andreas.gerlach
+	 */
+	public boolean refresh() throws IOException {
+
+		// a file that got shorter has been replaced, so start all over
+		if (_fileHandler.getFileLength() < _fileHandler.getCurrentPosition())
+			restart();
+
+		if (!_fileHandler.hasNext())
+			return false;
+
+		try {
+			
+			while (_fileHandler.hasNext()) {
+
+				String filePart = _fileHandler.next();
+
+				// the characters around a conditional separator are seen by the tokenizer,
+				// even if they are not part of the text appended since the last refresh
+				String text = _previousChar + _pendingSeparator + filePart;
+				int from = _previousChar.length();
+				int to = text.length();
+
+				if ((to > from) && isConditionalSeparator(text.charAt(to - 1)))
+					--to;
+
+				_tokenizer.tokenize(text, from, to,
+						_caretPosition - _pendingSeparator.length() - _previousChar.length());
+
+				_previousChar = (to > 0) ? text.substring(to - 1, to) : "";
+				_pendingSeparator = text.substring(to);
+				_caretPosition += filePart.length();
+			}
+			
+		} catch (UncheckedIOException e) {
+			
+			throw e.getCause();
+		}
+
+		// the words are ranked again when the list of words is retrieved next time
+		_metaData.resetRanking();
+
+		return true;
+	}
+
+	/**
+	 * starts the analysis of the file from its start with new text meta data
+	 *
+	 * @throws IOException if the file cannot be read
+	 * @author andreas.gerlach
+	 */
+	private void restart() throws IOException {
+
+		_fileHandler = new PlainTextFileHandler();
+		_fileHandler.setRetainPlainText(false);
+		_fileHandler.setFollow(true);
+		_fileHandler.setFile(_file.getAbsolutePath());
+
+		_metaData = new TextMetaData();
+		_tokenizer = _strategy.createTokenizer(_metaData);
+		_caretPosition = 0;
+		_previousChar = "";
+		_pendingSeparator = "";
+	}
+
+	/**
+	 * checks if the character joins two words if it stands between letters or digits
+	 * (e.g. a hyphen)
+	 *
+	 * @param c the character to check
+	 * @return TRUE/FALSE
+	 * @author andreas.gerlach
+	 */
+	private static boolean isConditionalSeparator(char c) {
+
+		return (CharClassTable.classOf(c) & CharClassTable.CLASS_MASK) == CharClassTable.CONDITIONAL_SEPARATOR;
+	}
+}
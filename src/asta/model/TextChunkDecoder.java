@@ -0,0 +1,168 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * decodes the raw chunks of a file into text while streaming through it
+ * the decoder keeps its state between the chunks, so a multi-byte character or a
+ * windows line ending that is split at the edge of a chunk is carried over to the
+ * next chunk instead of being corrupted
+ * windows line endings are converted to *nix ones in the same pass
+ *
+ * @author andreas.gerlach
+ */
+class TextChunkDecoder {
+
+	/**
+	 * the maximum number of bytes of an incomplete character that has to be carried over
+	 */
+	private static final int MAX_CARRY_BYTES = 16;
+
+	/**
+	 * the persistent decoder for the charset of the file
+	 */
+	private CharsetDecoder _decoder = null;
+
+	/**
+	 * the bytes of an incomplete character at the end of the last chunk
+	 */
+	private ByteBuffer _carry = ByteBuffer.allocate(MAX_CARRY_BYTES);
+
+	/**
+	 * the reusable buffer the chunks are decoded into
+	 */
+	private CharBuffer _chars = CharBuffer.allocate(0);
+
+	/**
+	 * set if the last chunk ended with a carriage return that might be followed by a line feed
+	 */
+	private boolean _pendingCR = false;
+
+	/**
+	 * constructs a new decoder for the given charset
+	 * malformed input is replaced the same way as by the string constructor
+	 *
+	 * @param charset the charset of the file
+	 * @author andreas.gerlach
+	 */
+	TextChunkDecoder(Charset charset) {
+
+		_decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * decodes the next chunk of the file and converts the line endings
+	 *
+	 * @param chunk the raw bytes of the chunk between its position and limit
+	 * @param endOfInput TRUE if this is the last chunk of the file
+	 * @return the text of the chunk
+	 * @author andreas.gerlach
+	 */
+	String decode(ByteBuffer chunk, boolean endOfInput) {
+
+		int capacity = (int) ((chunk.remaining() + _carry.position() + 1)
+								* _decoder.maxCharsPerByte()) + 1;
+
+		if (_chars.capacity() < capacity)
+			_chars = CharBuffer.allocate(capacity);
+
+		_chars.clear();
+
+		if (_pendingCR)
+			_chars.put('\r');
+
+		// complete the character that has been split at the end of the last chunk
+		// by feeding the following bytes one after another
+		while ((_carry.position() > 0) && chunk.hasRemaining()) {
+
+			_carry.put(chunk.get());
+			_carry.flip();
+			_decoder.decode(_carry, _chars, false);
+			_carry.compact();
+		}
+
+		_decoder.decode(chunk, _chars, endOfInput);
+
+		if (endOfInput) {
+
+			_carry.flip();
+			_decoder.decode(_carry, _chars, true);
+			_carry.clear();
+			_decoder.flush(_chars);
+			_decoder.reset();
+
+		} else if (chunk.hasRemaining()) {
+
+			// keep the incomplete character for the next chunk
+			_carry.put(chunk);
+		}
+
+		return convertLineEndings(endOfInput);
+	}
+
+	/**
+	 * getter to retrieve the number of bytes that have been read but not yet
+	 * decoded because they belong to a character split at the end of the last chunk
+	 *
+	 * @return the number of bytes carried over to the next chunk
+	 * @author andreas.gerlach
+	 */
+	int getCarriedBytes() {
+
+		return _carry.position();
+	}
+
+	/**
+	 * getter to retrieve whether a carriage return at the end of the last chunk
+	 * has been held back until the next chunk shows if it is followed by a line feed
+	 *
+	 * @return TRUE if a carriage return has been held back
+	 * @author andreas.gerlach
+	 */
+	boolean hasPendingCR() {
+
+		return _pendingCR;
+	}
+
+	/**
+	 * replaces the windows line endings in the decoded chunk by *nix ones in-place
+	 * a trailing carriage return is held back until the next chunk shows if it is
+	 * followed by a line feed
+	 *
+	 * @param endOfInput TRUE if this is the last chunk of the file
+	 * @return the text of the chunk with the converted line endings
+	 * @author andreas.gerlach
+	 */
+	private String convertLineEndings(boolean endOfInput) {
+
+		char[] chars = _chars.array();
+		int length = _chars.position();
+		int n = 0;
+
+		for (int i = 0; i < length; ++i) {
+
+			char c = chars[i];
+
+			if ((c == '\r') && (i + 1 < length) && (chars[i + 1] == '\n'))
+				continue;
+
+			chars[n++] = c;
+		}
+
+		_pendingCR = !endOfInput && (n > 0) && (chars[n - 1] == '\r');
+
+		if (_pendingCR)
+			n--;
+
+		return new String(chars, 0, n);
+	}
+}
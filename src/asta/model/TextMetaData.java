@@ -3,12 +3,9 @@
  */
 package asta.model;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 import asta.controller.AppController;
 
@@ -19,24 +16,30 @@ import asta.controller.AppController;
  * @author andreas.gerlach
  * @author andreas.p&ouml;rtner
  */
-public class TextMetaData {
+public class TextMetaData implements ITextMetaData {
 
 	/**
-	 * the map holding the word examined and their frequency counter
+	 * the table holding the words examined with their frequency counter
+	 * and the handle of their positions
 	 */
-	private Map<String, Integer> _mapWordFrequencies = new HashMap<String, Integer>();
+	private WordTable _wordTable = new WordTable();
 
 	/**
-	 * the map holding the positions of the words found in the text 
+	 * the positions of the words found in the text 
 	 * this is later used to highlight the words in the text
 	 */
-	private Map<String, ArrayList<WordPosition>> _mapWordPositions = 
-										new HashMap<String, ArrayList<WordPosition>>();
+	private Postings _wordPositions = new Postings();
+
+	/**
+	 * holds the number of words found in the text
+	 */
+	private int _nmbrOfWords = 0;
 	
 	/**
-	 * the array of words found in the text sorted by their frequency
+	 * the words found in the text sorted by their frequency
+	 * without the ignorable words from the settings
 	 */
-	private ArrayList<String> _arrWordsByFrequency = null;
+	private RankedWords _rankedWords = null;
 	
 	/**
 	 * holds the number of vowels found in the text 
@@ -64,10 +67,63 @@ public class TextMetaData {
 	private int _nmbrOfAllChars = 0;
 
 	/**
-	 * an array defining the chars that counts as vowels
+	 * whether the character counters of the words are up-to-date, the counters of
+	 * a word are computed once per distinct word and added for each word found, they are
+	 * summed up again when the words have been added another way (see {@link #updateCharacterStatistics})
+	 */
+	private boolean _charStatisticsValid = true;
+
+	/**
+	 * the number of alpha-numerical chars of the words by their term id
+	 */
+	private int[] _termAlphaChars = new int[0];
+
+	/**
+	 * the number of vowels of the words by their term id
+	 */
+	private int[] _termVowels = new int[0];
+
+	/**
+	 * the number of words the character counters have been computed for
 	 */
-	private final char[] arrVowels = new char[] { 'a', 'e', 'i', 'o', 'u', 
-												  '\u00E4', '\u00F6', '\u00FC' };
+	private int _nmbrOfTermStatistics = 0;
+
+	/**
+	 * the most frequent words followed while the words are added
+	 * (NULL if they are not followed, see {@link #followTopWords})
+	 */
+	private TopWords _topWords = null;
+
+	/**
+	 * the position in the file (in bytes) where the analyzing process has been
+	 * cancelled or -1 if the text has been analyzed completely
+	 */
+	private long _cancelledPosition = -1;
+
+	/**
+	 * getter to retrieve the position in the file where the analyzing process has been
+	 * cancelled, the meta data holds the words found in the text before this position
+	 * (a word at the position itself is left out)
+	 * 
+	 * @return the position in the file in bytes or -1 if the text has been analyzed completely
+	 * @author andreas.gerlach
+	 */
+	public long getCancelledPosition() {
+
+		return _cancelledPosition;
+	}
+
+	/**
+	 * setter to mark the meta data as partial result of an analyzing process
+	 * that has been cancelled
+	 * 
+	 * @param position the position in the file in bytes where the process has been cancelled
+	 * @author andreas.gerlach
+	 */
+	void setCancelledPosition(long position) {
+
+		_cancelledPosition = position;
+	}
 
 	/**
 	 * getter to retrieve the number of characters in the text
@@ -75,8 +131,11 @@ public class TextMetaData {
 	 * @return the number of characters in the text
 	 * @author andreas.p&ouml;rtner
 	 */
+	@Override
 	public int getNumberOfCharacters() {
 
+		updateCharacterStatistics();
+
 		return _nmbrOfAllChars;
 	}
 
@@ -86,8 +145,11 @@ public class TextMetaData {
 	 * @return the number of alpha-numerical characters in the text
 	 * @author andreas.p&ouml;rtner
 	 */
+	@Override
 	public int getNumberOfAlphaCharacters() {
 
+		updateCharacterStatistics();
+
 		return _nmbrOfAlphaChars;
 	}
 
@@ -97,8 +159,11 @@ public class TextMetaData {
 	 * @return the number of consonants in the text
 	 * @author andreas.p&ouml;rtner
 	 */
+	@Override
 	public int getNumberOfConsonants() {
 
+		updateCharacterStatistics();
+
 		return _nmbrOfConsonants;
 	}
 
@@ -108,6 +173,7 @@ public class TextMetaData {
 	 * @return the number of punctuation in the text
 	 * @author andreas.p&ouml;rtner
 	 */
+	@Override
 	public int getNumberOfPunctuation() {
 
 		return _nmbrOfPunctuations;
@@ -119,8 +185,11 @@ public class TextMetaData {
 	 * @return the number of vowels in the text
 	 * @author andreas.p&ouml;rtner
 	 */
+	@Override
 	public int getNumberOfVowels() {
 
+		updateCharacterStatistics();
+
 		return _nmbrOfVowels;
 	}
 
@@ -130,28 +199,27 @@ public class TextMetaData {
 	 * @return the number of words in the text
 	 * @author andreas.gerlach
 	 */
+	@Override
 	public int getNumberOfWords() {
 
-		int n = 0;
-
-		for (Integer i : _mapWordFrequencies.values()) {
-
-			n += i.intValue();
-		}
-
-		return n;
+		return _nmbrOfWords;
 	}
 
 	/**
-	 * builds a sorted array of the words in the hash-map
-	 * the array is sorted by the frequency of the words in the hash-map
+	 * builds a sorted array of the words in the word table
+	 * the array is sorted by the frequency of the words in the word table
+	 * (see {@link WordRanking#rank}), words with the same frequency keep the order
+	 * they have been found in the text, the ignorable words from the settings are
+	 * left out and followed when the settings change (see {@link RankedWords})
+	 * as the text has been examined completely the lists of positions are trimmed as well
 	 * 
 	 * @author andreas.gerlach
 	 */
 	void sortWordsByFrequency() {
 		
-		_arrWordsByFrequency = new ArrayList<String>(_mapWordFrequencies.keySet());
-		Collections.sort(_arrWordsByFrequency, new WordFrequencyComparator(this));
+		_rankedWords = new RankedWords(_wordTable, AppController.getInstance().getSettings());
+
+		_wordPositions.trimToSize();
 	}
 	
 	/**
@@ -162,36 +230,122 @@ public class TextMetaData {
 	 * @return the list of words by frequency reduced by the ignorable words from the settings
 	 * @author andreas.gerlach
 	 */
+	@Override
 	public String[] getWordsByFrequency() {
 
-		// hash-map has to be sorted before (if not been done already)
-		if (_arrWordsByFrequency == null)
+		// word table has to be sorted before (if not been done already)
+		if (_rankedWords == null)
 			sortWordsByFrequency();
 		
-		ArrayList<String> tempList = new ArrayList<String>(_arrWordsByFrequency);
+		_rankedWords.update(AppController.getInstance().getSettings());
 		
-		for(String w: AppController.getInstance().getSettings().getIgnorableWords()) {
-			
-			if (tempList.contains(w)) {
-				
-				tempList.remove(w);
-			}
-		}
+		int[] termIds = _rankedWords.toArray();
+		String[] words = new String[termIds.length];
+		
+		for (int i = 0; i < termIds.length; ++i)
+			words[i] = _wordTable.getWord(termIds[i]);
 
-		return tempList.toArray(new String[0]);
+		return words;
 	}
 
 	/**
 	 * getter to retrieve a top n list of words sorted by frequency
-	 * internally it will use the {@link #getWordsByFrequency} operation
+	 * it will take the list of ignorable words from the global settings into account
+	 * if the words have not been sorted yet the top words are picked from the word table
+	 * directly (see {@link WordRanking#top}) instead of sorting all words
 	 * 
 	 * @param nmbrOfWords the number of words to retrieve from the list of words
-	 * @return the list of words sorted by frequency
+	 * @return the list of words sorted by frequency (filled up with NULL if there are
+	 * less words in the text)
 	 * @author andreas.gerlach
 	 */
+	@Override
 	public String[] getTopWordsByFrequency(int nmbrOfWords) {
 
-		return Arrays.copyOf(getWordsByFrequency(), nmbrOfWords);
+		String[] words = new String[nmbrOfWords];
+
+		if (_rankedWords == null) {
+			
+			int[] termIds = WordRanking.top(_wordTable, nmbrOfWords, getIgnoredTerms());
+			
+			for (int i = 0; i < termIds.length; ++i)
+				words[i] = _wordTable.getWord(termIds[i]);
+			
+		} else {
+			
+			// the ranking follows the changes of the black-list since the last call
+			_rankedWords.update(AppController.getInstance().getSettings());
+			
+			int n = Math.min(nmbrOfWords, _rankedWords.size());
+			
+			for (int i = 0; i < n; ++i)
+				words[i] = _wordTable.getWord(_rankedWords.get(i));
+		}
+
+		return words;
+	}
+
+	/**
+	 * lets the most frequent words be followed while the words are added, so the
+	 * snapshots do not have to look at all words (see {@link #snapshot})
+	 * 
+	 * @param nmbrOfWords the number of most frequent words followed
+	 * @author andreas.gerlach
+	 */
+	void followTopWords(int nmbrOfWords) {
+		
+		_topWords = new TopWords(_wordTable, AppController.getInstance().getSettings(), nmbrOfWords);
+	}
+
+	/**
+	 * takes an immutable snapshot of the counters and the most frequent words
+	 * (without the ignorable words from the settings) found so far
+	 * the snapshot has to be taken on the thread adding the words, it does not copy the
+	 * word positions, it costs one pass over the distinct words unless the most frequent
+	 * words are followed (see {@link #followTopWords})
+	 * 
+	 * @param nmbrOfWords the number of most frequent words kept in the snapshot
+	 * @return the snapshot of the meta data
+	 * @author andreas.gerlach
+	 */
+	TextMetaDataSnapshot snapshot(int nmbrOfWords) {
+		
+		updateCharacterStatistics();
+		
+		int[] termIds = ((_topWords != null) && (_topWords.capacity() == nmbrOfWords)) ? _topWords.toArray()
+				: WordRanking.top(_wordTable, nmbrOfWords, getIgnoredTerms());
+		String[] words = new String[termIds.length];
+		int[] frequencies = new int[termIds.length];
+		
+		for (int i = 0; i < termIds.length; ++i) {
+			
+			words[i] = _wordTable.getWord(termIds[i]);
+			frequencies[i] = _wordTable.getCount(termIds[i]);
+		}
+		
+		return new TextMetaDataSnapshot(_nmbrOfAllChars, _nmbrOfAlphaChars, _nmbrOfConsonants,
+				_nmbrOfPunctuations, _nmbrOfVowels, _nmbrOfWords, words, frequencies);
+	}
+
+	/**
+	 * flags the term ids of the ignorable words from the global settings
+	 * 
+	 * @return the flags indexed by term id, TRUE if the word has to be ignored
+	 * @author andreas.gerlach
+	 */
+	private boolean[] getIgnoredTerms() {
+		
+		boolean[] ignored = new boolean[_wordTable.size()];
+		
+		for (String w : AppController.getInstance().getSettings().getIgnorableWords()) {
+			
+			int termId = findTerm(w);
+			
+			if (termId >= 0)
+				ignored[termId] = true;
+		}
+		
+		return ignored;
 	}
 
 	/**
@@ -201,16 +355,12 @@ public class TextMetaData {
 	 * @return the frequency value of the word
 	 * @author andreas.gerlach
 	 */
+	@Override
 	public int getFrequencyOfWord(String word) {
 
-		int i = 0;
-
-		if (_mapWordFrequencies.containsKey(word)) {
+		int termId = findTerm(word);
 
-			i = _mapWordFrequencies.get(word).intValue();
-		}
-
-		return i;
+		return (termId < 0) ? 0 : _wordTable.getCount(termId);
 	}
 
 	/**
@@ -220,60 +370,224 @@ public class TextMetaData {
 	 * @return an array of the positions of the word in the text used for highlighting it
 	 * @author andreas.gerlach
 	 */
+	@Override
 	public WordPosition[] getWordPositions(String word) {
 		
-		if (!_mapWordPositions.containsKey(word))
+		int termId = findTerm(word);
+		
+		if (termId < 0)
 			return new WordPosition[0];
 		
-		return _mapWordPositions.get(word).toArray(new WordPosition[0]);
+		long[] startPositions = _wordPositions.get(_wordTable.getPostings(termId));
+		WordPosition[] positions = new WordPosition[startPositions.length];
+		
+		for (int i = 0; i < positions.length; ++i)
+			positions[i] = new WordPosition(startPositions[i], word);
+		
+		return positions;
 	}
 	
 	/**
-	 * adds a word into the hash-map of examined words and adds the number
-	 * of chars, alpha-chars, vowels and consonants of this word to the counters
+	 * finds the term id of a word in the word table
 	 * 
-	 * @param word the word to be added and evaluated
-	 * @param position the position where the word has been found in the text
+	 * @param word the word to look up (may be NULL)
+	 * @return the term id of the word or -1 if it has not been found
 	 * @author andreas.gerlach
 	 */
-	void addWord(String word, WordPosition position) {
+	private int findTerm(String word) {
+		
+		return (word == null) ? -1 : _wordTable.find(word);
+	}
+	
+	/**
+	 * adds a word into the table of examined words, the number of chars, alpha-chars,
+	 * vowels and consonants of a word are computed when it is found for the first time
+	 * and added to the counters for each time it is found
+	 * 
+	 * @param buffer the buffer holding the characters of the word
+	 * @param offset the position of the word in the buffer
+	 * @param length the length of the word
+	 * @param startPosition the position where the word has been found in the text
+	 * @return the word that has been added
+	 * @author andreas.gerlach
+	 */
+	String addWord(char[] buffer, int offset, int length, long startPosition) {
 
-		// check if hash-map contains already a value for the word
-		if (!_mapWordFrequencies.containsKey(word)) {
-			_mapWordFrequencies.put(word, new Integer(1));
-		} else {
+		int termId = _wordTable.intern(buffer, offset, length);
 
-			int nVal = _mapWordFrequencies.get(word).intValue();
-			_mapWordFrequencies.put(word, new Integer(++nVal));
-		}
+		// a word seen for the first time gets a new list of positions
+		if (_wordTable.getCount(termId) == 0)
+			_wordTable.setPostings(termId, _wordPositions.create());
 
-		// check if the map of word positions already contains a value for this word
-		if (!_mapWordPositions.containsKey(word)) {
-			_mapWordPositions.put(word, new ArrayList<WordPosition>());
-		}
+		_wordTable.addCount(termId, 1);
+		_wordPositions.add(_wordTable.getPostings(termId), startPosition);
+		_nmbrOfWords++;
 		
-		_mapWordPositions.get(word).add(position);
+		// the number of chars, alpha-chars, ... only depend on the word
+		if (termId >= _nmbrOfTermStatistics)
+			computeTermStatistics(termId + 1);
 		
-		// examine and add the number of chars, alpha-chars, ... to the specific counters
-		_nmbrOfAllChars += word.length();
+		_nmbrOfAllChars += length;
+		_nmbrOfAlphaChars += _termAlphaChars[termId];
+		_nmbrOfVowels += _termVowels[termId];
+		_nmbrOfConsonants += _termAlphaChars[termId] - _termVowels[termId];
+		
+		if (_topWords != null)
+			_topWords.increment(termId);
+
+		return _wordTable.getWord(termId);
+	}
 
-		for (char c : word.toCharArray()) {
+	/**
+	 * adds the words, positions and counters of the meta data examined for the
+	 * following part of the same text to this one (e.g. a shard of a document that
+	 * has been analyzed on another thread or machine)
+	 * the frequencies and counters are summed up and the positions of the other meta data
+	 * are appended to the ones of this meta data, moved by the offset given
+	 * it takes time in the order of the number of distinct words of the other meta data,
+	 * merging the meta data of three parts in either order gives the same result
+	 * the other meta data is left unchanged
+	 * 
+	 * @param other the meta data of the part of the text that follows the part of this one
+	 * @param offset the position of the part of the other meta data relative to the
+	 * start of the part of this one (0 if the positions of both are given relative
+	 * to the whole text)
+	 * @throws IllegalArgumentException if one of both is the partial result of an
+	 * analyzing process that has been cancelled, the text between the parts would be
+	 * missing in the result otherwise
+	 * @author andreas.gerlach
+	 */
+	public void merge(TextMetaData other, long offset) {
 
-			if (Character.isDigit(c)) {
+		if ((_cancelledPosition >= 0) || (other._cancelledPosition >= 0))
+			throw new IllegalArgumentException("Partial results cannot be merged!");
 
-				continue;
-			}
+		WordTable otherTable = other._wordTable;
 
-			_nmbrOfAlphaChars++;
+		for (int otherId = 0; otherId < otherTable.size(); ++otherId) {
 
-			if (Arrays.binarySearch(arrVowels, Character.toLowerCase(c)) < 0) {
+			int termId = _wordTable.intern(otherTable.getWord(otherId));
 
-				_nmbrOfConsonants++;
-			} else {
+			if (_wordTable.getCount(termId) == 0)
+				_wordTable.setPostings(termId, _wordPositions.create());
 
-				_nmbrOfVowels++;
-			}
+			_wordTable.addCount(termId, otherTable.getCount(otherId));
+			_wordPositions.addAll(_wordTable.getPostings(termId),
+					other._wordPositions, otherTable.getPostings(otherId), offset);
 		}
+
+		_nmbrOfWords += other._nmbrOfWords;
+		_nmbrOfPunctuations += other._nmbrOfPunctuations;
+		_charStatisticsValid = false;
+
+		if (_topWords != null)
+			_topWords.invalidate();
+
+		_rankedWords = null;
+	}
+
+	/**
+	 * drops the ranking of the words after words have been added to the
+	 * meta data that has been sorted before (e.g. the text has grown), the words
+	 * are ranked again the next time the list of words by frequency is retrieved
+	 * 
+	 * @author andreas.gerlach
+	 */
+	void resetRanking() {
+
+		_rankedWords = null;
+	}
+
+	/**
+	 * writes the words, frequencies, positions and counters to the output given,
+	 * so the meta data can be restored to continue the analyzing process later on
+	 * (see {@link #readFrom})
+	 * 
+	 * @param out the output to write to
+	 * @throws IOException if the meta data cannot be written
+	 * @author andreas.gerlach
+	 */
+	void writeTo(DataOutput out) throws IOException {
+
+		out.writeInt(_nmbrOfPunctuations);
+		out.writeInt(_wordTable.size());
+
+		for (int termId = 0; termId < _wordTable.size(); ++termId) {
+
+			String word = _wordTable.getWord(termId);
+			int handle = _wordTable.getPostings(termId);
+
+			out.writeInt(word.length());
+			out.writeChars(word);
+			out.writeInt(_wordTable.getCount(termId));
+			out.writeInt(_wordPositions.getLength(handle));
+			out.writeLong(_wordPositions.getLastPosition(handle));
+			_wordPositions.writeTo(handle, out);
+		}
+	}
+
+	/**
+	 * restores meta data that has been written before (see {@link #writeTo})
+	 * 
+	 * @param in the input to read from
+	 * @return the restored meta data
+	 * @throws IOException if the meta data cannot be read
+	 * @author andreas.gerlach
+	 */
+	static TextMetaData readFrom(DataInput in) throws IOException {
+
+		TextMetaData metaData = new TextMetaData();
+		metaData._nmbrOfPunctuations = in.readInt();
+
+		int nmbrOfTerms = in.readInt();
+		char[] buffer = new char[64];
+
+		for (int i = 0; i < nmbrOfTerms; ++i) {
+
+			int length = in.readInt();
+
+			if (buffer.length < length)
+				buffer = new char[length];
+
+			for (int c = 0; c < length; ++c)
+				buffer[c] = in.readChar();
+
+			int termId = metaData._wordTable.intern(buffer, 0, length);
+			int count = in.readInt();
+			int handle = metaData._wordPositions.create();
+
+			metaData._wordTable.setPostings(termId, handle);
+			metaData._wordTable.addCount(termId, count);
+			metaData._wordPositions.readFrom(handle, in, in.readInt(), count, in.readLong());
+			metaData._nmbrOfWords += count;
+		}
+
+		// the number of chars, alpha-chars, ... are computed from the words again
+		metaData._charStatisticsValid = false;
+
+		return metaData;
+	}
+
+	/**
+	 * getter to retrieve the table holding the words examined
+	 * 
+	 * @return the table of the words examined
+	 * @author andreas.gerlach
+	 */
+	WordTable getWordTable() {
+
+		return _wordTable;
+	}
+
+	/**
+	 * getter to retrieve the positions of the words found in the text
+	 * 
+	 * @return the positions of the words (see {@link WordTable#getPostings})
+	 * @author andreas.gerlach
+	 */
+	Postings getPostings() {
+
+		return _wordPositions;
 	}
 
 	/**
@@ -290,51 +604,83 @@ public class TextMetaData {
 	}
 
 	/**
-	 * compares the frequencies of two words
-	 * and is used to sort the array of available words in the text
+	 * computes the number of chars, alpha-chars, vowels and consonants of the words
+	 * if words have been added without counting them (e.g. merged)
+	 * each distinct word is examined once and its counters are multiplied by
+	 * the frequency of the word
 	 * 
 	 * @author andreas.gerlach
 	 */
-	class WordFrequencyComparator implements Comparator<String> {
+	private void updateCharacterStatistics() {
 
-		/**
-		 * a reference to the text meta data to retrieve the
-		 * frequency of a given word
-		 */
-		private TextMetaData _metaData = null;
+		if (_charStatisticsValid)
+			return;
 
-		/**
-		 * constructs a new instance of a word frequency comparator and specifies
-		 * the text meta data object to use
-		 * 
-		 * @param metaData the text meta data object to use for getting the frequencies of words
-		 * @author andreas.gerlach
-		 */
-		public WordFrequencyComparator(TextMetaData metaData) {
+		computeTermStatistics(_wordTable.size());
 
-			_metaData = metaData;
+		int nmbrOfChars = 0;
+		int nmbrOfAlphaChars = 0;
+		int nmbrOfVowels = 0;
+
+		for (int termId = 0; termId < _wordTable.size(); ++termId) {
+
+			int count = _wordTable.getCount(termId);
+
+			nmbrOfChars += _wordTable.getWord(termId).length() * count;
+			nmbrOfAlphaChars += _termAlphaChars[termId] * count;
+			nmbrOfVowels += _termVowels[termId] * count;
 		}
 
-		/**
-		 * compares to strings by querying for their frequencies in the text meta data information
-		 * object and evaluating those values
-		 * 
-		 * @param o1 the first string to check
-		 * @param o2 the second string to check
-		 * @return the result of the comparison (1 = lesser, 0 = equality or -1 = higher)
-		 * @author andreas.gerlach
-		 */
-		public int compare(String o1, String o2) {
-
-			int nFreqO1 = _metaData.getFrequencyOfWord(o1);
-			int nFreqO2 = _metaData.getFrequencyOfWord(o2);
-
-			if (nFreqO1 < nFreqO2)
-				return 1;
-			else if (nFreqO1 == nFreqO2)
-				return 0;
-			else
-				return -1;
+		_nmbrOfAllChars = _nmbrOfPunctuations + nmbrOfChars;
+		_nmbrOfAlphaChars = nmbrOfAlphaChars;
+		_nmbrOfVowels = nmbrOfVowels;
+		_nmbrOfConsonants = nmbrOfAlphaChars - nmbrOfVowels;
+		_charStatisticsValid = true;
+	}
+
+	/**
+	 * computes the number of alpha-chars and vowels of the words that have not been
+	 * examined yet
+	 * 
+	 * @param nmbrOfTerms the number of words the counters have to be computed for
+	 * @author andreas.gerlach
+	 */
+	private void computeTermStatistics(int nmbrOfTerms) {
+
+		if (_termAlphaChars.length < nmbrOfTerms) {
+
+			int capacity = Math.max(_termAlphaChars.length * 2, nmbrOfTerms);
+			int[] alphaChars = new int[capacity];
+			int[] vowels = new int[capacity];
+
+			System.arraycopy(_termAlphaChars, 0, alphaChars, 0, _nmbrOfTermStatistics);
+			System.arraycopy(_termVowels, 0, vowels, 0, _nmbrOfTermStatistics);
+
+			_termAlphaChars = alphaChars;
+			_termVowels = vowels;
+		}
+
+		for (; _nmbrOfTermStatistics < nmbrOfTerms; ++_nmbrOfTermStatistics) {
+
+			String word = _wordTable.getWord(_nmbrOfTermStatistics);
+			int alphaChars = 0;
+			int vowels = 0;
+
+			for (int i = 0; i < word.length(); ++i) {
+
+				char c = word.charAt(i);
+
+				if (CharClassTable.isDigit(c))
+					continue;
+
+				alphaChars++;
+
+				if (CharClassTable.isVowel(c))
+					vowels++;
+			}
+
+			_termAlphaChars[_nmbrOfTermStatistics] = alphaChars;
+			_termVowels[_nmbrOfTermStatistics] = vowels;
 		}
 	}
 }
@@ -0,0 +1,219 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * an immutable copy of the counters and the most frequent words of a text meta data
+ * taken while the text is still analyzed, so the UI can show the results found so far
+ * without touching the meta data the analyzing process keeps changing
+ * the snapshot only holds the top words, the positions of the words are not copied
+ *
+ * @author andreas.gerlach
+ */
+final class TextMetaDataSnapshot implements ITextMetaData {
+
+	/**
+	 * the number of characters in the text analyzed so far
+	 */
+	private final int _nmbrOfChars;
+
+	/**
+	 * the number of alpha-numerical characters in the text analyzed so far
+	 */
+	private final int _nmbrOfAlphaChars;
+
+	/**
+	 * the number of consonants in the text analyzed so far
+	 */
+	private final int _nmbrOfConsonants;
+
+	/**
+	 * the number of punctuation in the text analyzed so far
+	 */
+	private final int _nmbrOfPunctuations;
+
+	/**
+	 * the number of vowels in the text analyzed so far
+	 */
+	private final int _nmbrOfVowels;
+
+	/**
+	 * the number of words in the text analyzed so far
+	 */
+	private final int _nmbrOfWords;
+
+	/**
+	 * the most frequent words sorted by their frequency
+	 */
+	private final String[] _topWords;
+
+	/**
+	 * the frequencies of the most frequent words
+	 */
+	private final int[] _topFrequencies;
+
+	/**
+	 * constructs a new snapshot
+	 *
+	 * @param nmbrOfChars the number of characters
+	 * @param nmbrOfAlphaChars the number of alpha-numerical characters
+	 * @param nmbrOfConsonants the number of consonants
+	 * @param nmbrOfPunctuations the number of punctuation
+	 * @param nmbrOfVowels the number of vowels
+	 * @param nmbrOfWords the number of words
+	 * @param topWords the most frequent words sorted by their frequency
+	 * @param topFrequencies the frequencies of the most frequent words
+	 * @author andreas.gerlach
+	 */
+	TextMetaDataSnapshot(int nmbrOfChars, int nmbrOfAlphaChars, int nmbrOfConsonants,
+			int nmbrOfPunctuations, int nmbrOfVowels, int nmbrOfWords,
+			String[] topWords, int[] topFrequencies) {
+
+		_nmbrOfChars = nmbrOfChars;
+		_nmbrOfAlphaChars = nmbrOfAlphaChars;
+		_nmbrOfConsonants = nmbrOfConsonants;
+		_nmbrOfPunctuations = nmbrOfPunctuations;
+		_nmbrOfVowels = nmbrOfVowels;
+		_nmbrOfWords = nmbrOfWords;
+		_topWords = topWords;
+		_topFrequencies = topFrequencies;
+	}
+
+	/**
+	 * getter to retrieve the number of characters in the text analyzed so far
+	 *
+	 * @return the number of characters in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfCharacters() {
+
+		return _nmbrOfChars;
+	}
+
+	/**
+	 * getter to retrieve the number of alpha-numerical characters in the text analyzed so far
+	 *
+	 * @return the number of alpha-numerical characters in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfAlphaCharacters() {
+
+		return _nmbrOfAlphaChars;
+	}
+
+	/**
+	 * getter to retrieve the number of consonants in the text analyzed so far
+	 *
+	 * @return the number of consonants in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfConsonants() {
+
+		return _nmbrOfConsonants;
+	}
+
+	/**
+	 * getter to retrieve the number of punctuation in the text analyzed so far
+	 *
+	 * @return the number of punctuation in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfPunctuation() {
+
+		return _nmbrOfPunctuations;
+	}
+
+	/**
+	 * getter to retrieve the number of vowels in the text analyzed so far
+	 *
+	 * @return the number of vowels in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfVowels() {
+
+		return _nmbrOfVowels;
+	}
+
+	/**
+	 * getter to retrieve the number of words in the text analyzed so far
+	 *
+	 * @return the number of words in the text
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getNumberOfWords() {
+
+		return _nmbrOfWords;
+	}
+
+	/**
+	 * getter to retrieve the list of words by frequency
+	 * the snapshot only knows the most frequent words, the ignorable words from the
+	 * settings have been left out when the snapshot has been taken
+	 *
+	 * @return the most frequent words sorted by their frequency
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String[] getWordsByFrequency() {
+
+		return _topWords.clone();
+	}
+
+	/**
+	 * getter to retrieve a top n list of words sorted by frequency
+	 *
+	 * @param nmbrOfWords the number of words to retrieve from the list of words
+	 * @return the list of words sorted by frequency (filled up with NULL if there are
+	 * less words in the snapshot)
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String[] getTopWordsByFrequency(int nmbrOfWords) {
+
+		String[] words = new String[nmbrOfWords];
+
+		System.arraycopy(_topWords, 0, words, 0, Math.min(nmbrOfWords, _topWords.length));
+
+		return words;
+	}
+
+	/**
+	 * getter to retrieve the frequency value of a specific word from the text
+	 *
+	 * @param word the word which frequency is of interest
+	 * @return the frequency value of the word (0 if it is not one of the top words)
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public int getFrequencyOfWord(String word) {
+
+		for (int i = 0; i < _topWords.length; ++i) {
+
+			if (_topWords[i].equals(word))
+				return _topFrequencies[i];
+		}
+
+		return 0;
+	}
+
+	/**
+	 * getter to retrieve the position of the given word in the text
+	 * the snapshot does not hold the positions of the words
+	 *
+	 * @param word the word which positions are of interest
+	 * @return an empty array
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public WordPosition[] getWordPositions(String word) {
+
+		return new WordPosition[0];
+	}
+}
@@ -16,12 +16,12 @@ public class TextProcessFinishEvent extends EventObject {
 	/**
 	 * the raw-text of the file being analyzed
 	 */
-	private StringBuffer _text = null;
+	private TextStore _text = null;
 	
 	/**
 	 * the text meta information of the file being analyzed
 	 */
-	private TextMetaData _data = null;
+	private ITextMetaData _data = null;
 	
 	/**
 	 * initializes a new event object with the text and meta data information given
@@ -31,7 +31,7 @@ public class TextProcessFinishEvent extends EventObject {
 	 * @param data the meta data information of the file being analyzed
 	 * @author andreas.gerlach
 	 */
-	public TextProcessFinishEvent(Object source, StringBuffer text, TextMetaData data) {
+	public TextProcessFinishEvent(Object source, TextStore text, ITextMetaData data) {
 		
 		super(source);
 		
@@ -45,7 +45,7 @@ public class TextProcessFinishEvent extends EventObject {
 	 * @return the raw-text of the file being analyzed
 	 * @author andreas.gerlach
 	 */
-	public StringBuffer getText() {
+	public TextStore getText() {
 		
 		return _text;
 	}
@@ -56,7 +56,7 @@ public class TextProcessFinishEvent extends EventObject {
 	 * @return the meta data of the file being analyzed
 	 * @author andreas.gerlach
 	 */
-	public TextMetaData getMetaData() {
+	public ITextMetaData getMetaData() {
 		
 		return _data;
 	}
@@ -18,11 +18,26 @@ public class TextProcessStatusEvent extends EventObject {
 	 */
 	private String _message = null;
 	
+	/**
+	 * the format of the message if it is built on demand
+	 */
+	private String _format = null;
+	
+	/**
+	 * the arguments of the message if it is built on demand
+	 */
+	private Object[] _args = null;
+	
 	/**
 	 * the percentage that has been completed
 	 */
 	private int _percentage = 0;
 	
+	/**
+	 * the snapshot of the results found so far (NULL if none has been taken)
+	 */
+	private ITextMetaData _snapshot = null;
+	
 	/**
 	 * initializes a new event object with the percentage and message specified
 	 * 
@@ -39,6 +54,44 @@ public class TextProcessStatusEvent extends EventObject {
 		_message = message;
 	}
 
+	/**
+	 * initializes a new event object with the percentage specified
+	 * the message is only formatted when it is retrieved
+	 * 
+	 * @param source the source of the event
+	 * @param percentage the percentage completed
+	 * @param format the format of the message for the client (see {@link String#format})
+	 * @param args the arguments of the message
+	 * @author andreas.gerlach
+	 */
+	public TextProcessStatusEvent(Object source, int percentage, String format, Object... args) {
+		
+		super(source);
+		
+		_percentage = percentage;
+		_format = format;
+		_args = args;
+	}
+
+	/**
+	 * initializes a new event object with the percentage and a snapshot of the results
+	 * found so far, the message is only formatted when it is retrieved
+	 * 
+	 * @param source the source of the event
+	 * @param percentage the percentage completed
+	 * @param snapshot the immutable snapshot of the results found so far
+	 * @param format the format of the message for the client (see {@link String#format})
+	 * @param args the arguments of the message
+	 * @author andreas.gerlach
+	 */
+	public TextProcessStatusEvent(Object source, int percentage, ITextMetaData snapshot,
+			String format, Object... args) {
+		
+		this(source, percentage, format, args);
+		
+		_snapshot = snapshot;
+	}
+
 	/**
 	 * getter to retrieve the current percentage completed
 	 * 
@@ -58,6 +111,21 @@ public class TextProcessStatusEvent extends EventObject {
 	 */
 	public String getMessage() {
 		
+		if ((_message == null) && (_format != null))
+			_message = String.format(_format, _args);
+		
 		return _message;
 	}
+	
+	/**
+	 * getter to retrieve the snapshot of the results found so far
+	 * the snapshot does not change any longer, so it can be used on any thread
+	 * 
+	 * @return the snapshot or NULL if none has been sent with this update
+	 * @author andreas.gerlach
+	 */
+	public ITextMetaData getSnapshot() {
+		
+		return _snapshot;
+	}
 }
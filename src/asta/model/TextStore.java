@@ -0,0 +1,347 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.util.ArrayList;
+
+/**
+ * a compact store for the raw-text of a file that has been read
+ * the text is kept in segments of a fixed number of characters, a segment that
+ * contains Latin-1 characters only is stored with one byte per character, all
+ * others with two, positions are addressed as long values, so the store is
+ * not limited to 2 GB of text as a string buffer is
+ * the store is not synchronized, it is filled by the file handler while reading
+ * and handed out to the views after the analyzing process has been finished
+ *
+ * @author andreas.gerlach
+ */
+public class TextStore implements CharSequence {
+
+	/**
+	 * the number of bits addressing a character within a segment
+	 */
+	private static final int SEGMENT_BITS = 20;
+
+	/**
+	 * the number of characters per segment (1M)
+	 */
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+
+	/**
+	 * the mask to get the position of a character within a segment
+	 */
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	/**
+	 * the number of characters the first segment is created for at least,
+	 * it grows up to the full size of a segment, so small texts take little memory
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the maximum number of characters of a string built from the store
+	 * (the largest array the Java VM allocates safely)
+	 */
+	private static final int MAX_STRING_LENGTH = Integer.MAX_VALUE - 8;
+
+	/**
+	 * the completed segments, either byte arrays (Latin-1) or char arrays
+	 */
+	private ArrayList<Object> _segments = new ArrayList<Object>();
+
+	/**
+	 * the segment that is currently filled, the first one may be smaller
+	 * than a segment until it has been filled up
+	 */
+	private char[] _current = null;
+
+	/**
+	 * the bits of all characters in the current segment or-ed together,
+	 * used to check if the segment can be stored as Latin-1
+	 */
+	private int _currentBits = 0;
+
+	/**
+	 * the number of characters in the store
+	 */
+	private long _length = 0;
+
+	/**
+	 * getter to retrieve the number of characters in the store
+	 *
+	 * @return the number of characters in the store
+	 * @author andreas.gerlach
+	 */
+	public long getLength() {
+
+		return _length;
+	}
+
+	/**
+	 * getter to retrieve the number of characters in the store as required
+	 * by the char sequence interface, stores with more characters report
+	 * {@link Integer#MAX_VALUE}, use {@link #getLength()} instead
+	 *
+	 * @return the number of characters in the store
+	 * @author andreas.gerlach
+	 */
+	public int length() {
+
+		return (int) Math.min(_length, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * getter to retrieve the character at the given position
+	 *
+	 * @param index the position of the character
+	 * @return the character at the given position
+	 * @author andreas.gerlach
+	 */
+	public char charAt(int index) {
+
+		return charAt((long) index);
+	}
+
+	/**
+	 * getter to retrieve the character at the given position
+	 *
+	 * @param index the position of the character
+	 * @return the character at the given position
+	 * @author andreas.gerlach
+	 */
+	public char charAt(long index) {
+
+		if ((index < 0) || (index >= _length))
+			throw new IndexOutOfBoundsException("Position " + index + " is out of range!");
+
+		int segment = (int) (index >>> SEGMENT_BITS);
+		int offset = (int) (index & SEGMENT_MASK);
+
+		if (segment == _segments.size())
+			return _current[offset];
+
+		Object data = _segments.get(segment);
+
+		if (data instanceof byte[])
+			return (char) (((byte[]) data)[offset] & 0xFF);
+
+		return ((char[]) data)[offset];
+	}
+
+	/**
+	 * getter to retrieve a part of the text
+	 *
+	 * @param start the position where the part starts
+	 * @param end the position where the part ends (exclusive)
+	 * @return the part of the text
+	 * @author andreas.gerlach
+	 */
+	public CharSequence subSequence(int start, int end) {
+
+		return getText(start, end);
+	}
+
+	/**
+	 * getter to retrieve a part of the text as string
+	 *
+	 * @param start the position where the part starts
+	 * @param end the position where the part ends (exclusive)
+	 * @return the part of the text
+	 * @author andreas.gerlach
+	 */
+	public String getText(long start, long end) {
+
+		if (end - start > MAX_STRING_LENGTH)
+			throw new IndexOutOfBoundsException("Range " + start + "-" + end + " is too long for a string!");
+
+		char[] result = new char[(int) Math.max(end - start, 0)];
+
+		getChars(start, end, result, 0);
+
+		return new String(result);
+	}
+
+	/**
+	 * copies a part of the text into the given array, so the views can read
+	 * the text piece by piece without building a string of the whole text
+	 *
+	 * @param start the position where the part starts
+	 * @param end the position where the part ends (exclusive)
+	 * @param dest the array the characters are copied to
+	 * @param destPos the position in the array the first character is copied to
+	 * @author andreas.gerlach
+	 */
+	public void getChars(long start, long end, char[] dest, int destPos) {
+
+		if ((start < 0) || (end > _length) || (start > end)
+				|| (end - start > dest.length - destPos))
+			throw new IndexOutOfBoundsException("Range " + start + "-" + end + " is out of range!");
+
+		int length = (int) (end - start);
+		int n = 0;
+
+		// copy the part segment by segment
+		while (n < length) {
+
+			long pos = start + n;
+			int segment = (int) (pos >>> SEGMENT_BITS);
+			int offset = (int) (pos & SEGMENT_MASK);
+			int count = Math.min(SEGMENT_SIZE - offset, length - n);
+
+			Object data = (segment == _segments.size()) ? _current : _segments.get(segment);
+
+			if (data instanceof byte[]) {
+
+				byte[] bytes = (byte[]) data;
+
+				for (int i = 0; i < count; ++i)
+					dest[destPos + n + i] = (char) (bytes[offset + i] & 0xFF);
+
+			} else {
+
+				System.arraycopy((char[]) data, offset, dest, destPos + n, count);
+			}
+
+			n += count;
+		}
+	}
+
+	/**
+	 * appends the text to the end of the store
+	 *
+	 * @param text the text to append
+	 * @author andreas.gerlach
+	 */
+	public void append(String text) {
+
+		int n = 0;
+
+		while (n < text.length()) {
+
+			int offset = (int) (_length & SEGMENT_MASK);
+			int count = Math.min(SEGMENT_SIZE - offset, text.length() - n);
+
+			ensureCapacity(offset + count);
+
+			text.getChars(n, n + count, _current, offset);
+
+			for (int i = offset; i < offset + count; ++i)
+				_currentBits |= _current[i];
+
+			n += count;
+			_length += count;
+
+			if ((_length & SEGMENT_MASK) == 0)
+				completeSegment();
+		}
+	}
+
+	/**
+	 * cuts the text off at the given position, e.g. the text a file handler has read
+	 * ahead but which has not been analyzed
+	 *
+	 * @param length the number of characters that are kept
+	 * @author andreas.gerlach
+	 */
+	public void truncate(long length) {
+
+		if ((length < 0) || (length >= _length))
+			return;
+
+		int segment = (int) (length >>> SEGMENT_BITS);
+		int offset = (int) (length & SEGMENT_MASK);
+
+		// the segment the text ends in becomes the one that is filled again
+		if (segment < _segments.size()) {
+
+			Object data = _segments.get(segment);
+
+			_current = new char[SEGMENT_SIZE];
+
+			if (data instanceof byte[]) {
+
+				byte[] bytes = (byte[]) data;
+
+				for (int i = 0; i < offset; ++i)
+					_current[i] = (char) (bytes[i] & 0xFF);
+
+			} else {
+
+				System.arraycopy((char[]) data, 0, _current, 0, offset);
+			}
+
+			while (_segments.size() > segment)
+				_segments.remove(_segments.size() - 1);
+		}
+
+		_length = length;
+		_currentBits = 0;
+
+		for (int i = 0; i < offset; ++i)
+			_currentBits |= _current[i];
+	}
+
+	/**
+	 * the string representation of the text in the store, stores with more
+	 * characters than a string can hold deliver the first part only
+	 *
+	 * @return the text in the store
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String toString() {
+
+		return getText(0, Math.min(_length, MAX_STRING_LENGTH));
+	}
+
+	/**
+	 * makes sure the current segment can hold the given number of characters,
+	 * the first segment grows geometrically, all others are created in full size
+	 *
+	 * @param capacity the number of characters the current segment has to hold
+	 * @author andreas.gerlach
+	 */
+	private void ensureCapacity(int capacity) {
+
+		if ((_current != null) && (_current.length >= capacity))
+			return;
+
+		if (_current == null) {
+
+			_current = new char[_segments.isEmpty()
+					? Math.max(capacity, INITIAL_CAPACITY) : SEGMENT_SIZE];
+			return;
+		}
+
+		char[] current = new char[Math.min(Math.max(capacity, _current.length * 2), SEGMENT_SIZE)];
+
+		System.arraycopy(_current, 0, current, 0, (int) (_length & SEGMENT_MASK));
+		_current = current;
+	}
+
+	/**
+	 * stores the current, completely filled segment in its compact form
+	 *
+	 * @author andreas.gerlach
+	 */
+	private void completeSegment() {
+
+		if (_currentBits < 0x100) {
+
+			byte[] bytes = new byte[SEGMENT_SIZE];
+
+			for (int i = 0; i < SEGMENT_SIZE; ++i)
+				bytes[i] = (byte) _current[i];
+
+			_segments.add(bytes);
+
+		} else {
+
+			_segments.add(_current);
+			_current = null;
+		}
+
+		_currentBits = 0;
+	}
+}
@@ -0,0 +1,236 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * the most frequent words of a text that is still analyzed, without the words
+ * on the black-list of the settings
+ * the top words follow the frequencies as they are counted up, so they are known at
+ * any time without a pass over all words (see {@link WordRanking#top}), a word only
+ * has to be compared with the last of the top words unless it is one of them
+ * the words are ranked like the ones of {@link WordRanking}, words with the same
+ * frequency keep the order they have been seen first in the text
+ *
+ * @author andreas.gerlach
+ */
+class TopWords {
+
+	/**
+	 * the initial number of words the black-list flags are kept for
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the word table the top words are taken from
+	 */
+	private WordTable _wordTable = null;
+
+	/**
+	 * the settings holding the black-list of words
+	 */
+	private Settings _settings = null;
+
+	/**
+	 * the term ids of the top words ordered by their rank
+	 */
+	private int[] _termIds = null;
+
+	/**
+	 * the number of top words found so far
+	 */
+	private int _size = 0;
+
+	/**
+	 * the flags of the words by their term id, TRUE if the word is ignored
+	 */
+	private boolean[] _ignored = new boolean[INITIAL_CAPACITY];
+
+	/**
+	 * the number of words the flags have been set for
+	 */
+	private int _nmbrOfFlags = 0;
+
+	/**
+	 * the snapshot of the black-list the flags follow
+	 */
+	private IgnorableWords _ignorableWords = null;
+
+	/**
+	 * whether the top words follow the frequencies of the word table,
+	 * they are found again if counts have been added another way (e.g. merged)
+	 */
+	private boolean _valid = false;
+
+	/**
+	 * constructs the top words of the table
+	 *
+	 * @param wordTable the word table
+	 * @param settings the settings holding the black-list of words
+	 * @param nmbrOfWords the number of top words
+	 * @author andreas.gerlach
+	 */
+	TopWords(WordTable wordTable, Settings settings, int nmbrOfWords) {
+
+		_wordTable = wordTable;
+		_settings = settings;
+		_termIds = new int[Math.max(nmbrOfWords, 0)];
+		_ignorableWords = settings.getIgnorableWordsSnapshot();
+
+		rebuild();
+	}
+
+	/**
+	 * getter to retrieve the number of top words
+	 *
+	 * @return the number of top words asked for
+	 * @author andreas.gerlach
+	 */
+	int capacity() {
+
+		return _termIds.length;
+	}
+
+	/**
+	 * follows the frequency of a word that has been counted up by one
+	 *
+	 * @param termId the term id of the word
+	 * @author andreas.gerlach
+	 */
+	void increment(int termId) {
+
+		if (!_valid || (_termIds.length == 0))
+			return;
+
+		if (termId >= _nmbrOfFlags)
+			updateFlags(termId + 1);
+
+		if (_ignored[termId])
+			return;
+
+		// a word that is not ranked before the last of the top words stays outside
+		if (_size == _termIds.length) {
+
+			int last = _termIds[_size - 1];
+
+			if ((termId != last) && !WordRanking.isRankedBefore(_wordTable, termId, last))
+				return;
+		}
+
+		int i = indexOf(termId);
+
+		// the word replaces the last one
+		if (i < 0) {
+
+			i = (_size < _termIds.length) ? _size++ : _size - 1;
+			_termIds[i] = termId;
+		}
+
+		// the word moves up ahead of the words it is ranked before now
+		for (; (i > 0) && WordRanking.isRankedBefore(_wordTable, termId, _termIds[i - 1]); --i) {
+
+			_termIds[i] = _termIds[i - 1];
+			_termIds[i - 1] = termId;
+		}
+	}
+
+	/**
+	 * lets the top words be found again from the word table the next time they
+	 * are retrieved (e.g. the counts of another meta data have been merged)
+	 *
+	 * @author andreas.gerlach
+	 */
+	void invalidate() {
+
+		_valid = false;
+	}
+
+	/**
+	 * getter to retrieve the term ids of the top words, the changes of the black-list
+	 * since the last call are applied first
+	 *
+	 * @return the term ids of the top words ordered by their rank
+	 * @author andreas.gerlach
+	 */
+	int[] toArray() {
+
+		IgnorableWords ignorableWords = _settings.getIgnorableWordsSnapshot();
+
+		if (ignorableWords != _ignorableWords) {
+
+			for (String word : ignorableWords.getChangesSince(_ignorableWords)) {
+
+				int termId = _wordTable.find(word);
+
+				if ((termId >= 0) && (termId < _nmbrOfFlags))
+					_ignored[termId] = ignorableWords.contains(word);
+			}
+
+			_ignorableWords = ignorableWords;
+			_valid = false;
+		}
+
+		if (!_valid)
+			rebuild();
+
+		int[] termIds = new int[_size];
+
+		System.arraycopy(_termIds, 0, termIds, 0, _size);
+
+		return termIds;
+	}
+
+	/**
+	 * finds the top words in all words of the table
+	 *
+	 * @author andreas.gerlach
+	 */
+	private void rebuild() {
+
+		updateFlags(_wordTable.size());
+
+		int[] termIds = WordRanking.top(_wordTable, _termIds.length, _ignored);
+
+		System.arraycopy(termIds, 0, _termIds, 0, termIds.length);
+		_size = termIds.length;
+		_valid = true;
+	}
+
+	/**
+	 * sets the black-list flags of the words seen for the first time
+	 *
+	 * @param nmbrOfFlags the number of words the flags have to be set for
+	 * @author andreas.gerlach
+	 */
+	private void updateFlags(int nmbrOfFlags) {
+
+		if (_ignored.length < nmbrOfFlags) {
+
+			boolean[] ignored = new boolean[Math.max(_ignored.length * 2, nmbrOfFlags)];
+
+			System.arraycopy(_ignored, 0, ignored, 0, _nmbrOfFlags);
+			_ignored = ignored;
+		}
+
+		for (; _nmbrOfFlags < nmbrOfFlags; ++_nmbrOfFlags)
+			_ignored[_nmbrOfFlags] = _ignorableWords.contains(_wordTable.getWord(_nmbrOfFlags));
+	}
+
+	/**
+	 * finds a word in the top words
+	 *
+	 * @param termId the term id of the word
+	 * @return the position of the word in the top words or -1 if it is not one of them
+	 * @author andreas.gerlach
+	 */
+	private int indexOf(int termId) {
+
+		for (int i = 0; i < _size; ++i) {
+
+			if (_termIds[i] == termId)
+				return i;
+		}
+
+		return -1;
+	}
+}
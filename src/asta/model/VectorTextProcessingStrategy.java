@@ -0,0 +1,180 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * a text processing strategy that evaluates plain text like the generic one
+ * but classifies the characters of a chunk with the Vector API, as many characters
+ * as the processor handles in one vector (16 to 64) are checked for ASCII letters and
+ * digits at once, the first other character is evaluated by the scalar logic of the
+ * generic strategy, so punctuation rules and non-ASCII text give the same results
+ * the Vector API is an incubator module, the strategy is only available if the
+ * application is compiled and started with --add-modules jdk.incubator.vector,
+ * otherwise the class cannot be loaded and the strategy is left out of the list
+ * of available strategies (see {@link Settings#getAvailableTextProcessors()})
+ *
+ * @author andreas.gerlach
+ */
+public class VectorTextProcessingStrategy extends GenericTextProcessingStrategy {
+
+	/**
+	 * the number of characters classified at once, loading the class fails
+	 * here if the Vector API is not available
+	 */
+	private static final int LANES = VectorWordTokenizer.SPECIES.length();
+
+	/**
+	 * overridden toString representation of the object
+	 * this is used in the UI to fill the combo-box of available processing strategies
+	 * the operator can choose from
+	 *
+	 * @return the meaningful name of this processing strategy
+	 * @author andreas.gerlach
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("Vektor Text Analyse (%d Zeichen)", LANES);
+	}
+
+	/**
+	 * creates the tokenizer classifying the characters with the Vector API
+	 *
+	 * @param metaData the text meta data the words and punctuation are added to
+	 * @return the tokenizer used by this processing strategy
+	 * @author andreas.gerlach
+	 */
+	@Override
+	WordTokenizer createTokenizer(TextMetaData metaData) {
+
+		return new VectorWordTokenizer(metaData);
+	}
+
+	/**
+	 * a tokenizer that jumps over runs of ASCII letters and digits one vector at a time
+	 *
+	 * @author andreas.gerlach
+	 */
+	static class VectorWordTokenizer extends WordTokenizer {
+
+		/**
+		 * the shape of the vectors, the widest one the processor supports
+		 */
+		static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+		/**
+		 * the bit converting upper case ASCII letters to lower case
+		 */
+		private static final short LOWER_CASE = 0x20;
+
+		/**
+		 * constructs a new tokenizer adding the words found to the given meta data
+		 *
+		 * @param metaData the text meta data the words and punctuation are added to
+		 * @author andreas.gerlach
+		 */
+		VectorWordTokenizer(TextMetaData metaData) {
+
+			super(metaData);
+		}
+
+		/**
+		 * tokenizes a part of the chunk given
+		 *
+		 * @param chunk the chunk of text
+		 * @param from the position in the chunk where to start
+		 * @param to the position in the chunk where to stop (exclusive)
+		 * @param caretPosition the position of the chunk in the whole text
+		 * @author andreas.gerlach
+		 */
+		@Override
+		void tokenize(String chunk, int from, int to, long caretPosition) {
+
+			int length = chunk.length();
+			char[] buffer = copyChunk(chunk);
+			int lanes = SPECIES.length();
+			int wordStart = from;
+			int i = from;
+
+			while (i < to) {
+
+				// jump over letters and digits a vector at a time
+				while (i + lanes <= to) {
+
+					int n = firstNonWordLane(buffer, i);
+
+					i += n;
+
+					if (n < lanes)
+						break;
+				}
+
+				if (i >= to)
+					break;
+
+				// evaluate the character like the generic strategy
+				char c = buffer[i];
+
+				switch (CharClassTable.classOf(c) & CharClassTable.CLASS_MASK) {
+
+				case CharClassTable.WORD:
+
+					++i;
+					continue;
+
+				case CharClassTable.CONDITIONAL_SEPARATOR:
+
+					if ((i > 0)
+							&& (i != length - 1)
+							&& CharClassTable.isLetterOrDigit(buffer[i - 1])
+							&& CharClassTable.isLetterOrDigit(buffer[i + 1])) {
+
+						++i;
+						continue;
+					}
+
+					break;
+				}
+
+				finishWord(buffer, wordStart, i, caretPosition);
+				addPunctuation(c);
+
+				wordStart = ++i;
+			}
+
+			// the word is continued with the next chunk
+			if (to > wordStart)
+				appendPendingWord(buffer, wordStart, to - wordStart);
+		}
+
+		/**
+		 * classifies the characters of one vector at the given position at once
+		 * characters beyond the ASCII range are no letters or digits here (chars from
+		 * U+8000 on are negative as short values), so they are left to the scalar logic
+		 *
+		 * @param buffer the buffer holding the characters
+		 * @param i the position of the first character
+		 * @return the number of ASCII letters and digits in front of the first other
+		 * character (the number of lanes if all of them are letters or digits)
+		 * @author andreas.gerlach
+		 */
+		private static int firstNonWordLane(char[] buffer, int i) {
+
+			ShortVector chars = ShortVector.fromCharArray(SPECIES, buffer, i);
+			ShortVector lower = chars.or(LOWER_CASE);
+
+			VectorMask<Short> letters = lower.compare(VectorOperators.GE, (short) 'a')
+					.and(lower.compare(VectorOperators.LE, (short) 'z'));
+			VectorMask<Short> digits = chars.compare(VectorOperators.GE, (short) '0')
+					.and(chars.compare(VectorOperators.LE, (short) '9'));
+
+			return letters.or(digits).not().firstTrue();
+		}
+	}
+}
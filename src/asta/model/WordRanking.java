@@ -0,0 +1,216 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * ranks the words of a word table by their frequency
+ * words with the same frequency are ranked in the order they have been seen
+ * first in the text (aka by their term id)
+ * the full ranking is built by a radix sort of the term ids using the frequency
+ * as key, which takes linear time as the frequencies are bounded integers,
+ * the top words are found with a heap holding the best words seen so far
+ *
+ * @author andreas.gerlach
+ */
+final class WordRanking {
+
+	/**
+	 * the number of bits of the frequency that are sorted in one pass
+	 */
+	private static final int DIGIT_BITS = 16;
+
+	/**
+	 * the mask to get a digit of the frequency
+	 */
+	private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+	/**
+	 * no instances needed
+	 */
+	private WordRanking() {
+	}
+
+	/**
+	 * ranks all words of the table by their frequency
+	 *
+	 * @param table the word table
+	 * @return the term ids of the words ordered by descending frequency
+	 * @author andreas.gerlach
+	 */
+	static int[] rank(WordTable table) {
+
+		int size = table.size();
+		int[] termIds = new int[size];
+		int maxCount = 0;
+
+		for (int termId = 0; termId < size; ++termId) {
+
+			termIds[termId] = termId;
+			maxCount = Math.max(maxCount, table.getCount(termId));
+		}
+
+		// least significant digit first, each pass keeps the order of the
+		// previous one for equal digits, so equal frequencies keep the term id order
+		int[] buffer = new int[size];
+
+		for (int shift = 0; (shift < Integer.SIZE) && ((maxCount >>> shift) != 0); shift += DIGIT_BITS) {
+
+			int[] starts = new int[DIGIT_MASK + 2];
+
+			for (int i = 0; i < size; ++i)
+				starts[digit(table, termIds[i], shift) + 1]++;
+
+			for (int d = 0; d <= DIGIT_MASK; ++d)
+				starts[d + 1] += starts[d];
+
+			for (int i = 0; i < size; ++i)
+				buffer[starts[digit(table, termIds[i], shift)]++] = termIds[i];
+
+			int[] sorted = buffer;
+			buffer = termIds;
+			termIds = sorted;
+		}
+
+		return termIds;
+	}
+
+	/**
+	 * finds the most frequent words of the table
+	 *
+	 * @param table the word table
+	 * @param nmbrOfWords the number of words to find
+	 * @param ignored the flags of the term ids to skip (NULL if no word is skipped)
+	 * @return the term ids of the most frequent words ordered by descending frequency
+	 * (less than the number of words asked for if the table is smaller)
+	 * @author andreas.gerlach
+	 */
+	static int[] top(WordTable table, int nmbrOfWords, boolean[] ignored) {
+
+		// the heap holds the best words so far with the worst of them on top
+		int[] heap = new int[Math.max(0, Math.min(nmbrOfWords, table.size()))];
+		int heapSize = 0;
+
+		for (int termId = 0; (termId < table.size()) && (heap.length > 0); ++termId) {
+
+			if ((ignored != null) && ignored[termId])
+				continue;
+
+			if (heapSize < heap.length) {
+
+				heap[heapSize] = termId;
+				siftUp(table, heap, heapSize++);
+
+			} else if (isRankedBefore(table, termId, heap[0])) {
+
+				heap[0] = termId;
+				siftDown(table, heap, heapSize);
+			}
+		}
+
+		// removing the worst word one by one fills the result from its end
+		int[] termIds = new int[heapSize];
+
+		while (heapSize > 0) {
+
+			termIds[heapSize - 1] = heap[0];
+			heap[0] = heap[--heapSize];
+			siftDown(table, heap, heapSize);
+		}
+
+		return termIds;
+	}
+
+	/**
+	 * checks if a word is ranked before another one
+	 *
+	 * @param table the word table
+	 * @param termId the term id of the word
+	 * @param otherId the term id of the other word
+	 * @return TRUE if the word is more frequent or equally frequent and seen before
+	 * @author andreas.gerlach
+	 */
+	static boolean isRankedBefore(WordTable table, int termId, int otherId) {
+
+		int count = table.getCount(termId);
+		int otherCount = table.getCount(otherId);
+
+		return (count > otherCount) || ((count == otherCount) && (termId < otherId));
+	}
+
+	/**
+	 * moves the word at the given index of the heap up until its parent
+	 * is ranked before it
+	 *
+	 * @param table the word table
+	 * @param heap the heap of term ids
+	 * @param i the index of the word in the heap
+	 * @author andreas.gerlach
+	 */
+	private static void siftUp(WordTable table, int[] heap, int i) {
+
+		int termId = heap[i];
+
+		while (i > 0) {
+
+			int parent = (i - 1) >>> 1;
+
+			if (!isRankedBefore(table, heap[parent], termId))
+				break;
+
+			heap[i] = heap[parent];
+			i = parent;
+		}
+
+		heap[i] = termId;
+	}
+
+	/**
+	 * moves the word on top of the heap down until it is ranked before its children
+	 *
+	 * @param table the word table
+	 * @param heap the heap of term ids
+	 * @param heapSize the number of words in the heap
+	 * @author andreas.gerlach
+	 */
+	private static void siftDown(WordTable table, int[] heap, int heapSize) {
+
+		if (heapSize == 0)
+			return;
+
+		int termId = heap[0];
+		int i = 0;
+
+		while (2 * i + 1 < heapSize) {
+
+			int child = 2 * i + 1;
+
+			// the child that is ranked later is moved up
+			if ((child + 1 < heapSize) && isRankedBefore(table, heap[child], heap[child + 1]))
+				++child;
+
+			if (!isRankedBefore(table, termId, heap[child]))
+				break;
+
+			heap[i] = heap[child];
+			i = child;
+		}
+
+		heap[i] = termId;
+	}
+
+	/**
+	 * getter to retrieve the digit of the frequency of a word used as key of a pass
+	 * the digit is inverted, so the most frequent words come first
+	 *
+	 * @param table the word table
+	 * @param termId the term id of the word
+	 * @param shift the position of the digit in the frequency
+	 * @return the inverted digit
+	 * @author andreas.gerlach
+	 */
+	private static int digit(WordTable table, int termId, int shift) {
+
+		return DIGIT_MASK - ((table.getCount(termId) >>> shift) & DIGIT_MASK);
+	}
+}
@@ -0,0 +1,299 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+import java.util.Arrays;
+
+/**
+ * the table of the distinct words found in a text
+ * each distinct word gets a term id (in the order the words are seen first) and
+ * its frequency and the handle of its positions are kept in primitive arrays
+ * indexed by the term id, so counting a word neither boxes a value nor needs a
+ * second lookup for its positions
+ * the term ids are found through an open-addressing hash table that is looked up
+ * directly with a range of characters using the hash code of strings, so a string
+ * is created only the first time a distinct word is seen
+ *
+ * @author andreas.gerlach
+ */
+class WordTable {
+
+	/**
+	 * the initial number of slots of the hash table (has to be a power of two)
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the term id + 1 in the slots of the hash table (0 for free slots)
+	 */
+	private int[] _slots = new int[INITIAL_CAPACITY];
+
+	/**
+	 * the words by their term id
+	 */
+	private String[] _words = new String[INITIAL_CAPACITY / 2];
+
+	/**
+	 * the hash codes of the words by their term id
+	 */
+	private int[] _hashes = new int[INITIAL_CAPACITY / 2];
+
+	/**
+	 * the frequencies of the words by their term id
+	 */
+	private int[] _counts = new int[INITIAL_CAPACITY / 2];
+
+	/**
+	 * the handles of the positions of the words by their term id
+	 */
+	private int[] _postings = new int[INITIAL_CAPACITY / 2];
+
+	/**
+	 * the number of distinct words in the table
+	 */
+	private int _size = 0;
+
+	/**
+	 * getter to retrieve the number of distinct words in the table
+	 *
+	 * @return the number of distinct words in the table
+	 * @author andreas.gerlach
+	 */
+	int size() {
+
+		return _size;
+	}
+
+	/**
+	 * getter to retrieve the word of a term id
+	 *
+	 * @param termId the term id of the word
+	 * @return the word
+	 * @author andreas.gerlach
+	 */
+	String getWord(int termId) {
+
+		return _words[termId];
+	}
+
+	/**
+	 * getter to retrieve the frequency of a word
+	 *
+	 * @param termId the term id of the word
+	 * @return the frequency of the word
+	 * @author andreas.gerlach
+	 */
+	int getCount(int termId) {
+
+		return _counts[termId];
+	}
+
+	/**
+	 * increases the frequency of a word
+	 *
+	 * @param termId the term id of the word
+	 * @param count the number of occurrences to add
+	 * @author andreas.gerlach
+	 */
+	void addCount(int termId, int count) {
+
+		_counts[termId] += count;
+	}
+
+	/**
+	 * getter to retrieve the handle of the positions of a word
+	 *
+	 * @param termId the term id of the word
+	 * @return the handle of the positions of the word
+	 * @author andreas.gerlach
+	 */
+	int getPostings(int termId) {
+
+		return _postings[termId];
+	}
+
+	/**
+	 * setter to specify the handle of the positions of a word
+	 *
+	 * @param termId the term id of the word
+	 * @param handle the handle of the positions of the word
+	 * @author andreas.gerlach
+	 */
+	void setPostings(int termId, int handle) {
+
+		_postings[termId] = handle;
+	}
+
+	/**
+	 * looks up the term id of a word
+	 *
+	 * @param word the word to look up
+	 * @return the term id of the word or -1 if the word is not in the table
+	 * @author andreas.gerlach
+	 */
+	int find(String word) {
+
+		int hash = word.hashCode();
+		int mask = _slots.length - 1;
+
+		for (int slot = spread(hash) & mask; _slots[slot] != 0; slot = (slot + 1) & mask) {
+
+			int termId = _slots[slot] - 1;
+
+			if ((_hashes[termId] == hash) && _words[termId].equals(word))
+				return termId;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * looks up the term id of a word and adds the word to the table
+	 * if it has not been seen before
+	 *
+	 * @param word the word to look up
+	 * @return the term id of the word
+	 * @author andreas.gerlach
+	 */
+	int intern(String word) {
+
+		int hash = word.hashCode();
+		int mask = _slots.length - 1;
+		int slot = spread(hash) & mask;
+
+		// linear probing until the word or a free slot is found
+		for (; _slots[slot] != 0; slot = (slot + 1) & mask) {
+
+			int termId = _slots[slot] - 1;
+
+			if ((_hashes[termId] == hash) && _words[termId].equals(word))
+				return termId;
+		}
+
+		return add(slot, word, hash);
+	}
+
+	/**
+	 * looks up the term id of the word made of the given range of characters
+	 * and adds the word to the table if it has not been seen before
+	 *
+	 * @param buffer the buffer holding the characters of the word
+	 * @param offset the position of the word in the buffer
+	 * @param length the length of the word
+	 * @return the term id of the word
+	 * @author andreas.gerlach
+	 */
+	int intern(char[] buffer, int offset, int length) {
+
+		int hash = 0;
+
+		for (int i = offset; i < offset + length; ++i)
+			hash = 31 * hash + buffer[i];
+
+		int mask = _slots.length - 1;
+		int slot = spread(hash) & mask;
+
+		// linear probing until the word or a free slot is found
+		for (; _slots[slot] != 0; slot = (slot + 1) & mask) {
+
+			int termId = _slots[slot] - 1;
+
+			if ((_hashes[termId] == hash) && matches(_words[termId], buffer, offset, length))
+				return termId;
+		}
+
+		return add(slot, new String(buffer, offset, length), hash);
+	}
+
+	/**
+	 * adds a new word to the table
+	 *
+	 * @param slot the free slot of the hash table the word is put into
+	 * @param word the word to add
+	 * @param hash the hash code of the word
+	 * @return the term id of the new word
+	 * @author andreas.gerlach
+	 */
+	private int add(int slot, String word, int hash) {
+
+		int termId = _size++;
+
+		if (termId == _words.length) {
+
+			_words = Arrays.copyOf(_words, termId * 2);
+			_hashes = Arrays.copyOf(_hashes, termId * 2);
+			_counts = Arrays.copyOf(_counts, termId * 2);
+			_postings = Arrays.copyOf(_postings, termId * 2);
+		}
+
+		_words[termId] = word;
+		_hashes[termId] = hash;
+		_slots[slot] = termId + 1;
+
+		if (_size * 2 > _slots.length)
+			grow();
+
+		return termId;
+	}
+
+	/**
+	 * compares the word with the range of characters
+	 *
+	 * @param word the word to compare
+	 * @param buffer the buffer holding the characters
+	 * @param offset the position of the range in the buffer
+	 * @param length the length of the range
+	 * @return TRUE if the word consists of the characters in the range
+	 * @author andreas.gerlach
+	 */
+	private static boolean matches(String word, char[] buffer, int offset, int length) {
+
+		if (word.length() != length)
+			return false;
+
+		for (int i = 0; i < length; ++i) {
+
+			if (word.charAt(i) != buffer[offset + i])
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * spreads the bits of the hash code, so words differing in the last
+	 * characters only do not end up in neighboring slots
+	 *
+	 * @param hash the hash code of the word
+	 * @return the spread hash code
+	 * @author andreas.gerlach
+	 */
+	static int spread(int hash) {
+
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * doubles the number of slots of the hash table and re-inserts the term ids
+	 *
+	 * @author andreas.gerlach
+	 */
+	private void grow() {
+
+		_slots = new int[_slots.length * 2];
+
+		int mask = _slots.length - 1;
+
+		for (int termId = 0; termId < _size; ++termId) {
+
+			int slot = spread(_hashes[termId]) & mask;
+
+			while (_slots[slot] != 0)
+				slot = (slot + 1) & mask;
+
+			_slots[slot] = termId + 1;
+		}
+	}
+}
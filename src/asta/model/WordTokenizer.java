@@ -0,0 +1,280 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.model;
+
+/**
+ * splits the chunks of a text into words and punctuation and adds them to the
+ * text meta data, a word that is not finished at the end of a chunk is continued
+ * with the next chunk handed over
+ * the words are identified by their position and length in a reusable copy of the
+ * chunk and looked up in the word table of the meta data, so no objects are created
+ * for a word that has been seen before
+ *
+ * @author andreas.gerlach
+ */
+class WordTokenizer {
+
+	/**
+	 * the text meta data the words and punctuation are added to
+	 */
+	private TextMetaData _metaData = null;
+
+	/**
+	 * the reusable copy of the chunk that is currently tokenized
+	 */
+	private char[] _chunk = new char[0];
+
+	/**
+	 * the characters of a word that has not been finished at the end of the last chunk
+	 */
+	private char[] _pendingWord = new char[64];
+
+	/**
+	 * the number of characters of the word that has not been finished yet
+	 */
+	private int _pendingLength = 0;
+
+	/**
+	 * the publisher informed about the words found (NULL if no one is interested)
+	 */
+	private ProgressPublisher _progress = null;
+
+	/**
+	 * constructs a new tokenizer adding the words found to the given meta data
+	 *
+	 * @param metaData the text meta data the words and punctuation are added to
+	 * @author andreas.gerlach
+	 */
+	WordTokenizer(TextMetaData metaData) {
+
+		_metaData = metaData;
+	}
+
+	/**
+	 * setter to specify the publisher that is informed about the words found
+	 *
+	 * @param progress the publisher informed about the words found
+	 * @author andreas.gerlach
+	 */
+	void setProgressPublisher(ProgressPublisher progress) {
+
+		_progress = progress;
+	}
+
+	/**
+	 * checks if the character at the given position of the chunk finishes a word
+	 * a punctuation between letters or digits (aka 1.2.3 or V.1.2) does not
+	 * finish a word, the check does not look beyond the edges of the chunk
+	 *
+	 * @param chunk the chunk of text
+	 * @param i the position of the character in the chunk
+	 * @return TRUE if the character is a punctuation finishing the word
+	 * @author andreas.gerlach
+	 */
+	static boolean isWordFinished(String chunk, int i) {
+
+		switch (CharClassTable.classOf(chunk.charAt(i)) & CharClassTable.CLASS_MASK) {
+
+		case CharClassTable.SEPARATOR:
+
+			return true;
+
+		case CharClassTable.CONDITIONAL_SEPARATOR:
+
+			return !((i > 0)
+					&& (i != chunk.length() - 1)
+					&& CharClassTable.isLetterOrDigit(chunk.charAt(i - 1))
+					&& CharClassTable.isLetterOrDigit(chunk.charAt(i + 1)));
+
+		default:
+
+			return false;
+		}
+	}
+
+	/**
+	 * tokenizes a part of the chunk given
+	 *
+	 * @param chunk the chunk of text
+	 * @param from the position in the chunk where to start
+	 * @param to the position in the chunk where to stop (exclusive)
+	 * @param caretPosition the position of the chunk in the whole text
+	 * @author andreas.gerlach
+	 */
+	void tokenize(String chunk, int from, int to, long caretPosition) {
+
+		int length = chunk.length();
+		char[] buffer = copyChunk(chunk);
+		int wordStart = from;
+
+		for (int i = from; i < to; ++i) {
+
+			char c = buffer[i];
+
+			switch (CharClassTable.classOf(c) & CharClassTable.CLASS_MASK) {
+
+			case CharClassTable.WORD:
+
+				// we are still in-between the word
+				continue;
+
+			case CharClassTable.CONDITIONAL_SEPARATOR:
+
+				// if we found a punctuation between a letter or digit
+				// aka 1.2.3 or V.1.2 or something like this
+				// we will see this as a single word
+				if ((i > 0)
+						&& (i != length - 1)
+						&& CharClassTable.isLetterOrDigit(buffer[i - 1])
+						&& CharClassTable.isLetterOrDigit(buffer[i + 1]))
+					continue;
+
+				break;
+			}
+
+			// we have finished one word, so store it in the meta data
+			finishWord(buffer, wordStart, i, caretPosition);
+
+			// when the word is finished, we have examined a valid punctuation character before
+			// which is the signal to the text processing strategy that the word is finished
+			_metaData.addPunctuation(c);
+
+			wordStart = i + 1;
+		}
+
+		// the word is continued with the next chunk
+		if (to > wordStart)
+			appendPendingWord(buffer, wordStart, to - wordStart);
+	}
+
+	/**
+	 * copies the chunk into the reusable buffer
+	 *
+	 * @param chunk the chunk of text
+	 * @return the buffer holding the characters of the chunk
+	 * @author andreas.gerlach
+	 */
+	char[] copyChunk(String chunk) {
+
+		if (_chunk.length < chunk.length())
+			_chunk = new char[chunk.length()];
+
+		chunk.getChars(0, chunk.length(), _chunk, 0);
+
+		return _chunk;
+	}
+
+	/**
+	 * finishes the word that ends at the punctuation found in the chunk
+	 * together with its characters from the previous chunks if there are any
+	 *
+	 * @param buffer the buffer holding the characters of the chunk
+	 * @param wordStart the position in the buffer where the word starts
+	 * @param i the position of the punctuation in the buffer
+	 * @param caretPosition the position of the chunk in the whole text
+	 * @author andreas.gerlach
+	 */
+	void finishWord(char[] buffer, int wordStart, int i, long caretPosition) {
+
+		if (_pendingLength > 0) {
+
+			appendPendingWord(buffer, wordStart, i - wordStart);
+			finishWord(caretPosition + i);
+
+		} else if (i > wordStart) {
+
+			addWord(buffer, wordStart, i - wordStart, caretPosition + i);
+		}
+	}
+
+	/**
+	 * informs the meta data about a punctuation that has been found
+	 *
+	 * @param c the punctuation char found in the text
+	 * @author andreas.gerlach
+	 */
+	void addPunctuation(char c) {
+
+		_metaData.addPunctuation(c);
+	}
+
+	/**
+	 * finishes the word that has not been finished at the end of the last chunk
+	 * and stores it in the meta data
+	 *
+	 * @param endPosition the position in the whole text where the word ends
+	 * @author andreas.gerlach
+	 */
+	void finishWord(long endPosition) {
+
+		if (_pendingLength > 0) {
+
+			addWord(_pendingWord, 0, _pendingLength, endPosition);
+			_pendingLength = 0;
+		}
+	}
+
+	/**
+	 * stores the word in the meta data
+	 *
+	 * @param buffer the buffer holding the characters of the word
+	 * @param offset the position of the word in the buffer
+	 * @param length the length of the word
+	 * @param endPosition the position in the whole text where the word ends
+	 * @author andreas.gerlach
+	 */
+	private void addWord(char[] buffer, int offset, int length, long endPosition) {
+
+		String word = _metaData.addWord(buffer, offset, length, endPosition - length);
+
+		if (_progress != null)
+			_progress.progress(endPosition, "Wort \"%s\" gefunden", word);
+	}
+
+	/**
+	 * getter to retrieve the characters of the word that has not been finished
+	 * at the end of the last chunk
+	 *
+	 * @return the characters of the word (empty if the last chunk ended with a punctuation)
+	 * @author andreas.gerlach
+	 */
+	String getPendingWord() {
+
+		return new String(_pendingWord, 0, _pendingLength);
+	}
+
+	/**
+	 * setter to specify the characters of a word that has not been finished at the end
+	 * of the text tokenized before (e.g. to continue an analyzing process)
+	 *
+	 * @param word the characters of the word
+	 * @author andreas.gerlach
+	 */
+	void setPendingWord(String word) {
+
+		_pendingLength = 0;
+		appendPendingWord(word.toCharArray(), 0, word.length());
+	}
+
+	/**
+	 * appends characters to the word that has not been finished yet
+	 *
+	 * @param buffer the buffer holding the characters
+	 * @param offset the position of the characters in the buffer
+	 * @param length the number of characters
+	 * @author andreas.gerlach
+	 */
+	void appendPendingWord(char[] buffer, int offset, int length) {
+
+		if (_pendingLength + length > _pendingWord.length) {
+
+			char[] pendingWord = new char[Math.max(_pendingWord.length * 2, _pendingLength + length)];
+			System.arraycopy(_pendingWord, 0, pendingWord, 0, _pendingLength);
+			_pendingWord = pendingWord;
+		}
+
+		System.arraycopy(buffer, offset, _pendingWord, _pendingLength, length);
+		_pendingLength += length;
+	}
+}
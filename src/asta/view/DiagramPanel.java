@@ -25,7 +25,7 @@ import org.jdesktop.swingx.JXImagePanel;
 
 import asta.App;
 import asta.controller.AppController;
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
 
 /**
  * the Diagram panel offers a pie-2d-chart of the 
@@ -72,7 +72,7 @@ class DiagramPanel extends JPanel {
 	 * @param data the text meta information object whose counter should be used
 	 * @author andreas.gerlach
 	 */
-	void setTextMetaData(TextMetaData data) {
+	void setTextMetaData(ITextMetaData data) {
 
 		// builds the data rows & labels of the current 2d-pie-chart
 		String[] labels = { "Vokale", "Konsonanten", "Satzzeichen", "sonstige" };
@@ -7,7 +7,8 @@ import java.awt.BorderLayout;
 
 import javax.swing.JFrame;
 
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
+import asta.model.TextStore;
 import asta.model.WordPosition;
 
 /**
@@ -106,19 +107,57 @@ public class MainWindow extends JFrame {
 		_statusView.setProgressInformation(nPercentage, message);
 	}
 
+	/**
+	 * informs the statistic and status view about the results found so far
+	 * while the text analyzing is still running
+	 * 
+	 * @param data the immutable snapshot of the text meta data found so far
+	 * @author andreas.gerlach
+	 */
+	public void setProcessSnapshot(ITextMetaData data) {
+		
+		_statisticView.setTextMetaData(data);
+		_statusView.setLiveTextMetaData(data);
+	}
+
 	/**
 	 * informs the contained controls about the finishing of the text analyzing so 
 	 * that they can use the text meta data information to display the current results
 	 * 
-	 * @param text the text that has been analyzed
+	 * @param text the text that has been analyzed (NULL if the text has not been retained)
 	 * @param data the text meta data of that text
 	 * @author andreas.gerlach
 	 */
-	public void setProcessResult(StringBuffer text, TextMetaData data) {
+	public void setProcessResult(TextStore text, ITextMetaData data) {
 
 		updateMetaData(data);
 				
-		_textView.setText(text);		
+		if (text != null)
+			_textView.setText(text);
+		
+		_toolbarView.setProcessFinished();
+	}
+	
+	/**
+	 * informs the text view about the text of a result that has been shown before
+	 * without its text (e.g. a result found in the cache)
+	 * 
+	 * @param text the text that has been analyzed
+	 * @author andreas.gerlach
+	 */
+	public void setProcessText(TextStore text) {
+		
+		_textView.setText(text);
+	}
+	
+	/**
+	 * informs the contained controls that the text analyzing has been stopped
+	 * before it has been finished
+	 * 
+	 * @author andreas.gerlach
+	 */
+	public void setProcessStopped() {
+
 		_toolbarView.setProcessFinished();
 	}
 	
@@ -130,7 +169,7 @@ public class MainWindow extends JFrame {
 	 * @param data the updated text meta data information object
 	 * @author andreas.p&ouml;rtner
 	 */
-	public void updateMetaData(TextMetaData data) {
+	public void updateMetaData(ITextMetaData data) {
 		
 		_statisticView.setTextMetaData(data);
 		_statusView.setTextMetaData(data);
@@ -167,7 +206,7 @@ public class MainWindow extends JFrame {
 	 */
 	void clearSubViews() {
 		
-		_textView.setText(new StringBuffer());
+		_textView.setText("");
 		_statusView.setProgressInformation(0, "");
 		_statisticView.clearValues();
 	}
@@ -89,7 +89,7 @@ class ProgressView extends JPanel {
 	void setStatus(int percentage, String message) {
 				
 		_header.setText(String.format("Analysiere Datei: %s", 
-				AppController.getInstance().getCurrentFile().getFile()));
+				AppController.getInstance().getAnalyzedFile()));
 		
 		if (percentage < 0) {
 			
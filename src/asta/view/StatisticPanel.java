@@ -10,7 +10,7 @@ import java.awt.GridLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
 
 /**
  * the statistic panel hosts the statistical information of the current
@@ -94,7 +94,7 @@ class StatisticPanel extends JPanel {
 	 * @param data - the meta information object hosting the counter values
 	 * @author andreas.p&ouml;rtner
 	 */
-	void setTextMetaData(TextMetaData data) {
+	void setTextMetaData(ITextMetaData data) {
 
 
         _nmbrOfAlphaChars.setText(String.format("%d", data.getNumberOfAlphaCharacters()));
@@ -11,7 +11,7 @@ import javax.swing.JScrollPane;
 import org.jdesktop.swingx.JXTaskPane;
 import org.jdesktop.swingx.JXTaskPaneContainer;
 
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
 
 /**
  * the statistic view hosts the sections with the
@@ -96,7 +96,7 @@ class StatisticView extends JPanel {
 	 * @param data - the text meta data information that is the outcome of the analyzing progress
 	 * @author andreas.p&ouml;rtner
 	 */
-	void setTextMetaData(TextMetaData data) {
+	void setTextMetaData(ITextMetaData data) {
 
 		_statisticPanel.setTextMetaData(data);
 		_graphicViewPanel.setTextMetaData(data);
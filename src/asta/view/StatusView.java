@@ -3,15 +3,18 @@
  */
 package asta.view;
 
+import java.awt.BorderLayout;
 import java.awt.CardLayout;
 
 import javax.swing.JPanel;
 
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
 
 /**
  * the status view panel switches between the analyzing progress view 
  * and the tag cloud that is build after the analyzing has been finished
+ * while the analyzing is running, a tag cloud of the words found so far is shown
+ * below the progress view
  * 
  * @author andreas.gerlach
  */
@@ -23,6 +26,16 @@ class StatusView extends JPanel {
 	 */
 	private ProgressView _progressView = null;
 
+	/**
+	 * the panel hosting the progress view and the tag cloud of the words found so far
+	 */
+	private JPanel _progressPanel = null;
+
+	/**
+	 * the tag cloud view of the words found so far (NULL if no snapshot has been shown yet)
+	 */
+	private TagCloudView _liveTagCloudView = null;
+
 	/**
 	 * the tag cloud view shown after the analyzing progress has been finished successfully
 	 */
@@ -50,7 +63,10 @@ class StatusView extends JPanel {
 		setLayout(new CardLayout());
 		
 		_progressView = new ProgressView();
-		this.add("PROGRESSVIEW", _progressView);
+		
+		_progressPanel = new JPanel(new BorderLayout());
+		_progressPanel.add(_progressView, BorderLayout.NORTH);
+		this.add("PROGRESSVIEW", _progressPanel);
 	}
 
 	/**
@@ -62,8 +78,9 @@ class StatusView extends JPanel {
 	void setSelectedFile(String fileName) {
 		
 		_progressView.setSelectedFile(fileName);
+		removeLiveTagCloud();
 		
-		this.setPreferredSize(_progressView.getPreferredSize());
+		this.setPreferredSize(_progressPanel.getPreferredSize());
 		((CardLayout) this.getLayout()).show(this, "PROGRESSVIEW");
 	}
 	
@@ -76,8 +93,10 @@ class StatusView extends JPanel {
 	 * information about the words and their frequency
 	 * @author andreas.gerlach
 	 */
-	void setTextMetaData(TextMetaData data) {
+	void setTextMetaData(ITextMetaData data) {
 
+		removeLiveTagCloud();
+		
 		_tagCloudView = new TagCloudView();
 		_tagCloudView.setTextMetaData(data);
 		this.add("TAGCLOUDVIEW", _tagCloudView);
@@ -98,7 +117,43 @@ class StatusView extends JPanel {
 
 		_progressView.setStatus(percent, message);
 
-		this.setPreferredSize(_progressView.getPreferredSize());
+		this.setPreferredSize(_progressPanel.getPreferredSize());
 		((CardLayout) this.getLayout()).show(this, "PROGRESSVIEW");
 	}
+	
+	/**
+	 * informs the tag cloud below the progress view about the words found so far
+	 * while the analyzing is still running
+	 * 
+	 * @param data the snapshot of the text meta data information found so far
+	 * @author andreas.gerlach
+	 */
+	void setLiveTextMetaData(ITextMetaData data) {
+		
+		if (_liveTagCloudView == null) {
+			
+			_liveTagCloudView = new TagCloudView();
+			_progressPanel.add(_liveTagCloudView, BorderLayout.CENTER);
+		}
+		
+		_liveTagCloudView.setTextMetaData(data);
+		
+		this.setPreferredSize(_progressPanel.getPreferredSize());
+		((CardLayout) this.getLayout()).show(this, "PROGRESSVIEW");
+		this.revalidate();
+	}
+	
+	/**
+	 * removes the tag cloud of the words found so far from the progress view
+	 * 
+	 * @author andreas.gerlach
+	 */
+	private void removeLiveTagCloud() {
+		
+		if (_liveTagCloudView != null) {
+			
+			_progressPanel.remove(_liveTagCloudView);
+			_liveTagCloudView = null;
+		}
+	}
 }
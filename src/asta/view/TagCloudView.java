@@ -20,7 +20,7 @@ import javax.swing.JScrollPane;
 import javax.swing.SwingUtilities;
 
 import asta.controller.AppController;
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
 
 /**
  * the tag cloud view builds and shows a tag cloud based on the 
@@ -85,7 +85,7 @@ class TagCloudView extends JPanel {
 	 * words and their frequency
 	 * @author andreas.gerlach
 	 */
-	void setTextMetaData(TextMetaData data) {
+	void setTextMetaData(ITextMetaData data) {
 
 		// clean-up any existing labels in the tag cloud panel
 		_tagPanel.removeAll();
@@ -221,6 +221,10 @@ class TagCloudView extends JPanel {
 			
 			_tagPanel.add(wordLabel);
 		}
+		
+		// the view is refreshed while the text is still analyzed
+		_tagPanel.revalidate();
+		_tagPanel.repaint();
 	}
 
 	/**
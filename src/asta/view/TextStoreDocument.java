@@ -0,0 +1,233 @@
+/**
+ * A Students Text Analyzer
+ */
+package asta.view;
+
+import java.util.ArrayList;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+
+import asta.model.TextStore;
+
+/**
+ * a read-only plain text document that shows the raw-text of a text store
+ * the characters are read from the segments of the store when they are painted,
+ * so the text is not copied into one string (which would double the memory needed
+ * and limit the text to the length of a string)
+ * a document addresses its characters by int, so texts longer than
+ * {@link #MAX_LENGTH} characters are shown up to this length
+ *
+ * @author andreas.gerlach
+ */
+@SuppressWarnings("serial")
+class TextStoreDocument extends PlainDocument {
+
+	/**
+	 * the maximum number of characters of the store shown by the document
+	 * (the content has an additional line break at its end)
+	 */
+	static final int MAX_LENGTH = Integer.MAX_VALUE - 1;
+
+	/**
+	 * the number of characters that are scanned for line breaks at once
+	 */
+	private static final int SCAN_SIZE = 64 * 1024;
+
+	/**
+	 * constructs a new document showing the raw-text of the store
+	 *
+	 * @param text the store holding the raw-text
+	 * @author andreas.gerlach
+	 */
+	TextStoreDocument(TextStore text) {
+
+		super(new TextStoreContent(text));
+
+		buildLines(text, getLength());
+	}
+
+	/**
+	 * replaces the single line of the empty document by the lines of the text,
+	 * the text is scanned for line breaks in parts, so it is not copied as a whole
+	 *
+	 * @param text the store holding the raw-text
+	 * @param length the number of characters shown by the document
+	 * @author andreas.gerlach
+	 */
+	private void buildLines(TextStore text, int length) {
+
+		BranchElement root = (BranchElement) getDefaultRootElement();
+		ArrayList<Element> lines = new ArrayList<Element>();
+		char[] buffer = new char[SCAN_SIZE];
+		int lineStart = 0;
+
+		for (int pos = 0; pos < length; pos += SCAN_SIZE) {
+
+			int count = Math.min(SCAN_SIZE, length - pos);
+
+			text.getChars(pos, pos + count, buffer, 0);
+
+			for (int i = 0; i < count; ++i) {
+
+				if (buffer[i] == '\n') {
+
+					lines.add(createLeafElement(root, null, lineStart, pos + i + 1));
+					lineStart = pos + i + 1;
+				}
+			}
+		}
+
+		// the last line ends with the line break at the end of the content
+		lines.add(createLeafElement(root, null, lineStart, length + 1));
+
+		root.replace(0, root.getElementCount(), lines.toArray(new Element[lines.size()]));
+	}
+
+	/**
+	 * the content of the document backed by the text store, the content can
+	 * not be changed, so the positions within it never move
+	 *
+	 * @author andreas.gerlach
+	 */
+	static class TextStoreContent implements AbstractDocument.Content {
+
+		/**
+		 * the store holding the raw-text
+		 */
+		private TextStore _text = null;
+
+		/**
+		 * the number of characters of the store shown
+		 */
+		private int _length = 0;
+
+		/**
+		 * constructs a new content backed by the text store
+		 *
+		 * @param text the store holding the raw-text
+		 * @author andreas.gerlach
+		 */
+		TextStoreContent(TextStore text) {
+
+			_text = text;
+			_length = (int) Math.min(text.getLength(), MAX_LENGTH);
+		}
+
+		/**
+		 * creates a position within the content, as the content does not
+		 * change, the position is fixed
+		 *
+		 * @param offset the offset of the position
+		 * @return the position
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public Position createPosition(final int offset) {
+
+			return new Position() {
+
+				@Override
+				public int getOffset() {
+
+					return offset;
+				}
+			};
+		}
+
+		/**
+		 * getter to retrieve the length of the content
+		 *
+		 * @return the number of characters shown plus the line break at the end
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public int length() {
+
+			return _length + 1;
+		}
+
+		/**
+		 * the content is read-only
+		 *
+		 * @param where the offset to insert at
+		 * @param str the text to insert
+		 * @return nothing
+		 * @throws BadLocationException always
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public UndoableEdit insertString(int where, String str) throws BadLocationException {
+
+			throw new BadLocationException("Text is read-only!", where);
+		}
+
+		/**
+		 * the content is read-only
+		 *
+		 * @param where the offset to remove at
+		 * @param nitems the number of characters to remove
+		 * @return nothing
+		 * @throws BadLocationException always
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public UndoableEdit remove(int where, int nitems) throws BadLocationException {
+
+			throw new BadLocationException("Text is read-only!", where);
+		}
+
+		/**
+		 * getter to retrieve a part of the content as string
+		 *
+		 * @param where the offset the part starts at
+		 * @param len the length of the part
+		 * @return the part of the content
+		 * @throws BadLocationException if the part is out of range
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public String getString(int where, int len) throws BadLocationException {
+
+			Segment segment = new Segment();
+
+			getChars(where, len, segment);
+
+			return segment.toString();
+		}
+
+		/**
+		 * copies a part of the content into the segment given
+		 *
+		 * @param where the offset the part starts at
+		 * @param len the length of the part
+		 * @param txt the segment the part is copied to
+		 * @throws BadLocationException if the part is out of range
+		 * @author andreas.gerlach
+		 */
+		@Override
+		public void getChars(int where, int len, Segment txt) throws BadLocationException {
+
+			if ((where < 0) || (len < 0) || ((long) where + len > length()))
+				throw new BadLocationException("Range " + where + "-" + (where + len) + " is out of range!", where);
+
+			char[] chars = new char[len];
+			int fromStore = Math.min(len, _length - where);
+
+			_text.getChars(where, where + fromStore, chars, 0);
+
+			// the line break at the end of the content
+			if (fromStore < len)
+				chars[fromStore] = '\n';
+
+			txt.array = chars;
+			txt.offset = 0;
+			txt.count = len;
+		}
+	}
+}
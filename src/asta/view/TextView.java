@@ -15,6 +15,7 @@ import javax.swing.text.Highlighter;
 
 import org.jdesktop.swingx.JXEditorPane;
 
+import asta.model.TextStore;
 import asta.model.WordPosition;
 
 /**
@@ -75,12 +76,24 @@ class TextView extends JPanel {
 	 * informs the text view about the plain text of the file that has been
 	 * analyzed
 	 * 
+	 * the text of a text store is shown right from the store (see {@link TextStoreDocument}),
+	 * texts longer than {@link TextStoreDocument#MAX_LENGTH} characters are displayed up to this length
+	 * 
 	 * @param plainText the plain text of the file to be displayed in the text view
 	 * @author andreas.gerlach
 	 */
-	void setText(StringBuffer plainText) {
+	void setText(CharSequence plainText) {
 
-		_editorPane.setText(plainText.toString());
+		if (plainText instanceof TextStore) {
+			
+			_editorPane.setDocument(new TextStoreDocument((TextStore) plainText));
+			
+		} else {
+			
+			// the document of a text store cannot be changed, so a new one is used
+			_editorPane.setDocument(_editorPane.getEditorKit().createDefaultDocument());
+			_editorPane.setText(plainText.toString());
+		}
 	}
 	
 	/**
@@ -103,7 +116,9 @@ class TextView extends JPanel {
 			
 			try {
 				
-				if (pos.getEndPosition() > Integer.MAX_VALUE)
+				// the positions are in ascending order, so stop at the first one
+				// behind the part of the text that is displayed
+				if (pos.getEndPosition() > _editorPane.getDocument().getLength())
 					break;
 				
 				highlighter.addHighlight((int) pos.getStartPosition(),
@@ -4,6 +4,7 @@
 package asta.view;
 
 import java.awt.event.ActionEvent;
+import java.io.File;
 import java.io.IOException;
 
 import javax.swing.AbstractAction;
@@ -13,6 +14,7 @@ import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.JToolBar;
 import javax.swing.SwingUtilities;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import asta.App;
 import asta.controller.AppController;
@@ -28,11 +30,27 @@ import asta.model.ITextProcessingStrategy;
 @SuppressWarnings("serial")
 class ToolbarView extends JToolBar {
 
+	/**
+	 * the file filter for the files holding the results of analyzing processes
+	 */
+	private static final FileNameExtensionFilter RESULT_FILE_FILTER = 
+			new FileNameExtensionFilter("Analyse-Ergebnis", "asta");
+
 	/**
 	 * the command to open a file browser and select a file for analyzing it
 	 */
 	private AbstractAction _openAct = null;
 
+	/**
+	 * the command to open a result of an analyzing process that has been saved before
+	 */
+	private AbstractAction _openResultAct = null;
+
+	/**
+	 * the command to save the result of the last analyzing process
+	 */
+	private AbstractAction _saveResultAct = null;
+
 	/**
 	 * the command to start the analyzing process on a selected file
 	 */
@@ -126,6 +144,80 @@ class ToolbarView extends JToolBar {
 			}
 		};
 
+		// create the command that opens a result saved before
+		_openResultAct = new AbstractAction("Open Result") {
+
+			@Override
+			public void actionPerformed(ActionEvent arg0) {
+
+				SwingUtilities.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+
+						try {
+
+							JFileChooser dlgFile = new JFileChooser();
+							dlgFile.setFileFilter(RESULT_FILE_FILTER);
+
+							int result = dlgFile.showOpenDialog(AppController.getInstance().getMainWindow());
+
+							if (result == JFileChooser.APPROVE_OPTION) {
+								
+								AppController.getInstance().openResult(
+										dlgFile.getSelectedFile());
+							}
+
+						} catch (IOException e) {
+
+							AppController.getInstance().handleException(e);
+						}
+
+						updateView();
+					}
+				});
+			}
+		};
+
+		// create the command that saves the result of the last analyzing process
+		_saveResultAct = new AbstractAction("Save Result") {
+
+			@Override
+			public void actionPerformed(ActionEvent arg0) {
+
+				SwingUtilities.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+
+						try {
+
+							JFileChooser dlgFile = new JFileChooser();
+							dlgFile.setFileFilter(RESULT_FILE_FILTER);
+
+							int result = dlgFile.showSaveDialog(AppController.getInstance().getMainWindow());
+
+							if (result == JFileChooser.APPROVE_OPTION) {
+								
+								File resultFile = dlgFile.getSelectedFile();
+								
+								// append the extension of result files if missing
+								if (!RESULT_FILE_FILTER.accept(resultFile))
+									resultFile = new File(resultFile.getPath() + "." 
+											+ RESULT_FILE_FILTER.getExtensions()[0]);
+								
+								AppController.getInstance().saveResult(resultFile);
+							}
+
+						} catch (IOException e) {
+
+							AppController.getInstance().handleException(e);
+						}
+					}
+				});
+			}
+		};
+
 		// initialize the selection box containing the existing text processing strategies
 		// the user can choose from
 		// automatically select the first item
@@ -148,21 +240,12 @@ class ToolbarView extends JToolBar {
 						// check if a file is selected in the app controller
 						if (AppController.getInstance().isFileSelected()) {
 
-							try {
-
-								// and if so start the analyzing process on it
-								// using the selected text processing strategy
-								AppController.getInstance().analyzeFile(
-												(ITextProcessingStrategy) _cmbProcessingStrategies.getSelectedItem());
-
-							} catch (InterruptedException e) {
-
-								AppController.getInstance().handleException(e);
-
-							} finally {
+							// and if so queue the analyzing process of it
+							// using the selected text processing strategy
+							AppController.getInstance().analyzeFile(
+											(ITextProcessingStrategy) _cmbProcessingStrategies.getSelectedItem());
 
-								updateView();
-							}
+							updateView();
 						}
 					}
 				});
@@ -222,6 +305,16 @@ class ToolbarView extends JToolBar {
 		_openAct.putValue(AbstractAction.SHORT_DESCRIPTION,
 				"Eine neue Datei öffnen");
 
+		this.add(_openResultAct);
+		_openResultAct.putValue(AbstractAction.NAME, "Ergebnis öffnen");
+		_openResultAct.putValue(AbstractAction.SHORT_DESCRIPTION,
+				"Öffnet ein gespeichertes Analyse-Ergebnis");
+
+		this.add(_saveResultAct);
+		_saveResultAct.putValue(AbstractAction.NAME, "Ergebnis speichern");
+		_saveResultAct.putValue(AbstractAction.SHORT_DESCRIPTION,
+				"Speichert das Ergebnis der Analyse");
+
 		this.addSeparator();
 
 		this.add(_cmbProcessingStrategies);
@@ -265,9 +358,11 @@ class ToolbarView extends JToolBar {
 	 */
 	void updateView() {
 
-		_openAct.setEnabled(!AppController.getInstance().isAnalyzingInProgress());
-		_runAct.setEnabled(AppController.getInstance().isFileSelected()
-							&& !AppController.getInstance().isAnalyzingInProgress());
+		// further files can be opened and queued while others are analyzed
+		_openAct.setEnabled(true);
+		_openResultAct.setEnabled(true);
+		_saveResultAct.setEnabled(AppController.getInstance().isResultAvailable());
+		_runAct.setEnabled(AppController.getInstance().isFileSelected());
 		_stopAct.setEnabled(AppController.getInstance().isAnalyzingInProgress());
 	}
 }
\ No newline at end of file
@@ -10,7 +10,7 @@ import java.awt.GridLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
-import asta.model.TextMetaData;
+import asta.model.ITextMetaData;
 
 /**
  * the top-10-list-panel shows a table of the top 10 words from the text analyzing process
@@ -61,7 +61,7 @@ class Top10ListPanel extends JPanel {
 	 * and their frequency
 	 * @author andreas.gerlach
 	 */
-	void setTextMetaData(TextMetaData data) {
+	void setTextMetaData(ITextMetaData data) {
 
 		this.clearValues();
 		
@@ -84,6 +84,10 @@ class Top10ListPanel extends JPanel {
 
 			this.add(new JLabel(String.format("%.2f", freqWord), JLabel.RIGHT));
 		}
+		
+		// the list is refreshed while the text is still analyzed
+		this.revalidate();
+		this.repaint();
 	}
 	
 	/**